@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -19,10 +19,13 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.ibatis.annotations.Flush;
 import org.apache.ibatis.annotations.MapKey;
@@ -34,6 +37,7 @@ import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.reflection.TypeParameterResolver;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
@@ -46,6 +50,12 @@ import org.apache.ibatis.session.SqlSession;
  */
 public class MapperMethod {
 
+  // values of a type may be added to arrays of the same or a later primitive type
+  private static final List<Class<?>> WIDENING_ORDER = Arrays.asList(Byte.class, Short.class, Integer.class, Long.class,
+      Float.class, Double.class);
+  private static final List<Class<?>> PRIMITIVE_WIDENING_ORDER = Arrays.asList(byte.class, short.class, int.class,
+      long.class, float.class, double.class);
+
   private final SqlCommand command;
   private final MethodSignature method;
 
@@ -138,6 +148,9 @@ public class MapperMethod {
   }
 
   private <E> Object executeForMany(SqlSession sqlSession, Object[] args) {
+    if (method.returnsPrimitiveArray() && !usesSecondLevelCache(sqlSession)) {
+      return executeForPrimitiveArray(sqlSession, args);
+    }
     List<E> result;
     Object param = method.convertArgsToSqlCommandParam(args);
     if (method.hasRowBounds()) {
@@ -156,6 +169,26 @@ public class MapperMethod {
     return result;
   }
 
+  private Object executeForPrimitiveArray(SqlSession sqlSession, Object[] args) {
+    PrimitiveArrayResultHandler resultHandler = new PrimitiveArrayResultHandler(
+        method.getReturnType().getComponentType());
+    Object param = method.convertArgsToSqlCommandParam(args);
+    if (method.hasRowBounds()) {
+      RowBounds rowBounds = method.extractRowBounds(args);
+      sqlSession.select(command.getName(), param, rowBounds, resultHandler);
+    } else {
+      sqlSession.select(command.getName(), param, resultHandler);
+    }
+    return resultHandler.getResultArray();
+  }
+
+  private boolean usesSecondLevelCache(SqlSession sqlSession) {
+    // results passed to a result handler are not put in the second level cache
+    Configuration configuration = sqlSession.getConfiguration();
+    MappedStatement ms = configuration.getMappedStatement(command.getName());
+    return configuration.isCacheEnabled() && ms.getCache() != null && ms.isUseCache();
+  }
+
   private <T> Cursor<T> executeForCursor(SqlSession sqlSession, Object[] args) {
     Cursor<T> result;
     Object param = method.convertArgsToSqlCommandParam(args);
@@ -200,6 +233,67 @@ public class MapperMethod {
     return result;
   }
 
+  /**
+   * Collects the rows of a single column numeric query into a primitive array, so the values are not kept boxed in a
+   * list before being copied into the array returned by the mapper method. Like {@link Array#set}, only values that
+   * widen to the component type are accepted.
+   */
+  private class PrimitiveArrayResultHandler implements ResultHandler<Object> {
+
+    private final Class<?> componentType;
+    private final int componentRank;
+    private Object array;
+    private int size;
+
+    PrimitiveArrayResultHandler(Class<?> componentType) {
+      this.componentType = componentType;
+      this.componentRank = PRIMITIVE_WIDENING_ORDER.indexOf(componentType);
+      this.array = Array.newInstance(componentType, 16);
+    }
+
+    @Override
+    public void handleResult(ResultContext<?> context) {
+      final Object value = context.getResultObject();
+      if (value == null) {
+        throw new BindingException("Mapper method '" + command.getName()
+            + "' attempted to add null to an array of primitive type (" + componentType + ").");
+      }
+      final int valueRank = WIDENING_ORDER.indexOf(value.getClass());
+      if (valueRank < 0 || valueRank > componentRank) {
+        throw new BindingException("Mapper method '" + command.getName() + "' attempted to add a value of type "
+            + value.getClass().getName() + " to an array of primitive type (" + componentType + ").");
+      }
+      final Number number = (Number) value;
+      if (size == Array.getLength(array)) {
+        array = copyOf(size * 2);
+      }
+      if (componentType == long.class) {
+        ((long[]) array)[size++] = number.longValue();
+      } else if (componentType == int.class) {
+        ((int[]) array)[size++] = number.intValue();
+      } else if (componentType == double.class) {
+        ((double[]) array)[size++] = number.doubleValue();
+      } else if (componentType == float.class) {
+        ((float[]) array)[size++] = number.floatValue();
+      } else if (componentType == short.class) {
+        ((short[]) array)[size++] = number.shortValue();
+      } else {
+        ((byte[]) array)[size++] = number.byteValue();
+      }
+    }
+
+    Object getResultArray() {
+      return size == Array.getLength(array) ? array : copyOf(size);
+    }
+
+    private Object copyOf(int length) {
+      Object copy = Array.newInstance(componentType, length);
+      System.arraycopy(array, 0, copy, 0, Math.min(size, length));
+      return copy;
+    }
+
+  }
+
   public static class ParamMap<V> extends HashMap<String, V> {
 
     private static final long serialVersionUID = -2212268410512043556L;
@@ -270,7 +364,11 @@ public class MapperMethod {
 
   public static class MethodSignature {
 
+    private static final Set<Class<?>> NUMERIC_PRIMITIVES = new HashSet<>(
+        Arrays.asList(byte.class, short.class, int.class, long.class, float.class, double.class));
+
     private final boolean returnsMany;
+    private final boolean returnsPrimitiveArray;
     private final boolean returnsMap;
     private final boolean returnsVoid;
     private final boolean returnsCursor;
@@ -292,6 +390,8 @@ public class MapperMethod {
       }
       this.returnsVoid = void.class.equals(this.returnType);
       this.returnsMany = configuration.getObjectFactory().isCollection(this.returnType) || this.returnType.isArray();
+      this.returnsPrimitiveArray = this.returnType.isArray()
+          && NUMERIC_PRIMITIVES.contains(this.returnType.getComponentType());
       this.returnsCursor = Cursor.class.equals(this.returnType);
       this.returnsOptional = Optional.class.equals(this.returnType);
       this.mapKey = getMapKey(method);
@@ -329,6 +429,17 @@ public class MapperMethod {
       return returnsMany;
     }
 
+    /**
+     * Returns whether the method returns an array of a numeric primitive type, like {@code long[]}.
+     *
+     * @return {@code true} if the method returns a numeric primitive array
+     *
+     * @since 3.5.17
+     */
+    public boolean returnsPrimitiveArray() {
+      return returnsPrimitiveArray;
+    }
+
     public boolean returnsMap() {
       return returnsMap;
     }
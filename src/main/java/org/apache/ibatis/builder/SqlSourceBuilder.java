@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,16 +16,20 @@
 package org.apache.ibatis.builder;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 
+import org.apache.ibatis.builder.SqlTemplateCache.SqlTemplate;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.parsing.TokenHandler;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 
@@ -41,15 +45,49 @@ public class SqlSourceBuilder extends BaseBuilder {
   }
 
   public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters) {
+    return parse(originalSql, parameterType, additionalParameters, null);
+  }
+
+  /**
+   * Parses the {@code #{}} placeholders of a SQL, reusing the result of a previous parse of the same SQL and parameter
+   * type kept in a template cache.
+   *
+   * @param originalSql
+   *          the SQL with {@code #{}} placeholders
+   * @param parameterType
+   *          the type of the parameter object
+   * @param additionalParameters
+   *          the additional parameters
+   * @param templateCache
+   *          the cache of parsed SQL, or {@code null} to parse the SQL every time
+   *
+   * @return the SQL source with {@code ?} placeholders
+   *
+   * @since 3.5.17
+   */
+  public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters,
+      SqlTemplateCache templateCache) {
+    boolean shrinkWhitespaces = configuration.isShrinkWhitespacesInSql();
+    if (templateCache != null) {
+      SqlTemplate template = templateCache.get(originalSql, parameterType, shrinkWhitespaces, additionalParameters);
+      if (template != null) {
+        // the bound sql exposes a mutable list
+        return new StaticSqlSource(configuration, template.getSql(), new ArrayList<>(template.getParameterMappings()));
+      }
+    }
     ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType,
         additionalParameters);
     GenericTokenParser parser = new GenericTokenParser("#{", "}", handler);
     String sql;
-    if (configuration.isShrinkWhitespacesInSql()) {
+    if (shrinkWhitespaces) {
       sql = parser.parse(removeExtraWhitespaces(originalSql));
     } else {
       sql = parser.parse(originalSql);
     }
+    if (templateCache != null && !handler.isUsingAdditionalParameters()) {
+      templateCache.put(originalSql, parameterType, shrinkWhitespaces,
+          new SqlTemplate(sql, new ArrayList<>(handler.getParameterMappings()), handler.getParameterNames()));
+    }
     return new StaticSqlSource(configuration, sql, handler.getParameterMappings());
   }
 
@@ -71,12 +109,16 @@ public class SqlSourceBuilder extends BaseBuilder {
 
     private final List<ParameterMapping> parameterMappings = new ArrayList<>();
     private final Class<?> parameterType;
+    private final Map<String, Object> additionalParameters;
     private final MetaObject metaParameters;
+    private final Set<String> parameterNames = new LinkedHashSet<>();
+    private boolean usingAdditionalParameters;
 
     public ParameterMappingTokenHandler(Configuration configuration, Class<?> parameterType,
         Map<String, Object> additionalParameters) {
       super(configuration);
       this.parameterType = parameterType;
+      this.additionalParameters = additionalParameters;
       this.metaParameters = configuration.newMetaObject(additionalParameters);
     }
 
@@ -84,6 +126,20 @@ public class SqlSourceBuilder extends BaseBuilder {
       return parameterMappings;
     }
 
+    /**
+     * Gets whether the type of a placeholder property might come from an additional parameter.
+     */
+    public boolean isUsingAdditionalParameters() {
+      return usingAdditionalParameters;
+    }
+
+    /**
+     * Gets the names the additional parameters would need to resolve one of the placeholder properties.
+     */
+    public String[] getParameterNames() {
+      return parameterNames.toArray(new String[0]);
+    }
+
     @Override
     public String handleToken(String content) {
       parameterMappings.add(buildParameterMapping(content));
@@ -93,6 +149,7 @@ public class SqlSourceBuilder extends BaseBuilder {
     private ParameterMapping buildParameterMapping(String content) {
       Map<String, String> propertiesMap = parseParameterMapping(content);
       String property = propertiesMap.get("property");
+      collectParameterName(property);
       Class<?> propertyType;
       if (metaParameters.hasGetter(property)) { // issue #448 get type from additional params
         propertyType = metaParameters.getGetterType(property);
@@ -146,6 +203,20 @@ public class SqlSourceBuilder extends BaseBuilder {
       return builder.build();
     }
 
+    private void collectParameterName(String property) {
+      if (property == null) {
+        return;
+      }
+      // the key MapWrapper looks up for the property
+      PropertyTokenizer prop = new PropertyTokenizer(property);
+      String name = prop.hasNext() ? prop.getIndexedName() : prop.getName();
+      if (additionalParameters != null && additionalParameters.containsKey(name)) {
+        usingAdditionalParameters = true;
+      } else {
+        parameterNames.add(name);
+      }
+    }
+
     private Map<String, String> parseParameterMapping(String content) {
       try {
         return new ParameterExpression(content);
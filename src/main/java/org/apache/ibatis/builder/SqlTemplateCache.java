@@ -0,0 +1,140 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.mapping.ParameterMapping;
+
+/**
+ * The SQL statements rendered by a dynamic SQL source, with their {@code #{}} placeholders already replaced by
+ * {@code ?} and parsed to parameter mappings.
+ * <p>
+ * A template is reused for the same rendered SQL and parameter type as long as none of the placeholder properties is
+ * shadowed by an additional parameter, since the type of those properties is only known from their runtime value.
+ * Placeholders of {@code <foreach>} items and {@code <bind>} variables are such properties, so SQL using them is parsed
+ * on every execution as before.
+ *
+ * @since 3.5.17
+ *
+ * @see SqlSourceBuilder#parse(String, Class, Map, SqlTemplateCache)
+ */
+public final class SqlTemplateCache {
+
+  private static final int DEFAULT_MAX_SIZE = 64;
+
+  private final int maxSize;
+  private final Map<Key, SqlTemplate> templates = new ConcurrentHashMap<>();
+
+  public SqlTemplateCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates a cache holding a limited number of templates.
+   *
+   * @param maxSize
+   *          the number of distinct SQL statements and parameter types kept, the templates of statements rendered once
+   *          the cache is full are not kept
+   */
+  public SqlTemplateCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public int size() {
+    return templates.size();
+  }
+
+  public void clear() {
+    templates.clear();
+  }
+
+  SqlTemplate get(String originalSql, Class<?> parameterType, boolean shrinkWhitespaces,
+      Map<String, Object> additionalParameters) {
+    SqlTemplate template = templates.get(new Key(originalSql, parameterType, shrinkWhitespaces));
+    if (template == null) {
+      return null;
+    }
+    for (String parameterName : template.parameterNames) {
+      if (additionalParameters.containsKey(parameterName)) {
+        return null;
+      }
+    }
+    return template;
+  }
+
+  void put(String originalSql, Class<?> parameterType, boolean shrinkWhitespaces, SqlTemplate template) {
+    if (templates.size() < maxSize) {
+      templates.putIfAbsent(new Key(originalSql, parameterType, shrinkWhitespaces), template);
+    }
+  }
+
+  static final class SqlTemplate {
+
+    private final String sql;
+    private final List<ParameterMapping> parameterMappings;
+    private final String[] parameterNames;
+
+    SqlTemplate(String sql, List<ParameterMapping> parameterMappings, String[] parameterNames) {
+      this.sql = sql;
+      this.parameterMappings = parameterMappings;
+      this.parameterNames = parameterNames;
+    }
+
+    String getSql() {
+      return sql;
+    }
+
+    List<ParameterMapping> getParameterMappings() {
+      return parameterMappings;
+    }
+  }
+
+  private static final class Key {
+
+    private final String sql;
+    private final Class<?> parameterType;
+    private final boolean shrinkWhitespaces;
+
+    Key(String sql, Class<?> parameterType, boolean shrinkWhitespaces) {
+      this.sql = sql;
+      this.parameterType = parameterType;
+      this.shrinkWhitespaces = shrinkWhitespaces;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return parameterType == other.parameterType && shrinkWhitespaces == other.shrinkWhitespaces
+          && sql.equals(other.sql);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sql, parameterType, shrinkWhitespaces);
+    }
+  }
+
+}
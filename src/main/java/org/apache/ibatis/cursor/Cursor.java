@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -20,7 +20,8 @@ import java.io.Closeable;
 /**
  * Cursor contract to handle fetching items lazily using an Iterator. Cursors are a perfect fit to handle millions of
  * items queries that would not normally fit in memory. If you use collections in resultMaps then cursor SQL queries
- * must be ordered (resultOrdered="true") using the id columns of the resultMap.
+ * must be ordered (resultOrdered="true") using the id columns of the resultMap. The nestedResultStreamingEnabled
+ * setting applies the same handling to every statement read through a cursor.
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  */
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.metrics.StatementExecution;
 import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -114,7 +115,22 @@ public abstract class BaseExecutor implements Executor {
       throw new ExecutorException("Executor was closed.");
     }
     clearLocalCache();
-    return doUpdate(ms, parameter);
+    StatementExecution execution = StatementExecution.start(ms);
+    if (execution == null) {
+      return doUpdate(ms, parameter);
+    }
+    try {
+      int rows = doUpdate(ms, parameter);
+      if (rows >= 0) {
+        execution.setRows(rows);
+      }
+      return rows;
+    } catch (SQLException | RuntimeException e) {
+      execution.setFailure(e);
+      throw e;
+    } finally {
+      execution.end();
+    }
   }
 
   @Override
@@ -148,17 +164,33 @@ public abstract class BaseExecutor implements Executor {
     if (queryStack == 0 && ms.isFlushCacheRequired()) {
       clearLocalCache();
     }
-    List<E> list;
+    List<E> list = null;
+    StatementExecution execution = StatementExecution.start(ms);
     try {
       queryStack++;
       list = resultHandler == null ? (List<E>) localCache.getObject(key) : null;
       if (list != null) {
         handleLocallyCachedOutputParameters(ms, key, parameter, boundSql);
+        if (execution != null) {
+          execution.setCacheHit(true);
+        }
       } else {
         list = queryFromDatabase(ms, parameter, rowBounds, resultHandler, key, boundSql);
       }
+    } catch (SQLException | RuntimeException e) {
+      if (execution != null) {
+        execution.setFailure(e);
+      }
+      throw e;
     } finally {
       queryStack--;
+      if (execution != null) {
+        if (list != null && resultHandler == null) {
+          execution.setRows(list.size());
+        }
+        // never throws, so the query still completes below
+        execution.end();
+      }
     }
     if (queryStack == 0) {
       for (DeferredLoad deferredLoad : deferredLoads) {
@@ -177,7 +209,18 @@ public abstract class BaseExecutor implements Executor {
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
     BoundSql boundSql = ms.getBoundSql(parameter);
-    return doQueryCursor(ms, parameter, rowBounds, boundSql);
+    StatementExecution execution = StatementExecution.start(ms);
+    if (execution == null) {
+      return doQueryCursor(ms, parameter, rowBounds, boundSql);
+    }
+    try {
+      return doQueryCursor(ms, parameter, rowBounds, boundSql);
+    } catch (SQLException | RuntimeException e) {
+      execution.setFailure(e);
+      throw e;
+    } finally {
+      execution.end();
+    }
   }
 
   @Override
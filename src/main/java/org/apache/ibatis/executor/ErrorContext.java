@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -42,15 +42,17 @@ public class ErrorContext {
     ErrorContext newContext = new ErrorContext();
     newContext.stored = this;
     LOCAL.set(newContext);
-    return LOCAL.get();
+    return newContext;
   }
 
   public ErrorContext recall() {
-    if (stored != null) {
-      LOCAL.set(stored);
-      stored = null;
+    ErrorContext previous = stored;
+    if (previous == null) {
+      return LOCAL.get();
     }
-    return LOCAL.get();
+    LOCAL.set(previous);
+    stored = null;
+    return previous;
   }
 
   public ErrorContext resource(String resource) {
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -19,7 +19,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,10 +39,13 @@ import org.apache.ibatis.transaction.Transaction;
  */
 public class ReuseExecutor extends BaseExecutor {
 
-  private final Map<String, Statement> statementMap = new HashMap<>();
+  private final Map<String, Statement> statementMap = new LinkedHashMap<>(16, 0.75f, true);
+  private final int statementCacheSize;
+  private Connection statementConnection;
 
   public ReuseExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
+    this.statementCacheSize = configuration.getReuseStatementCacheSize();
   }
 
   @Override
@@ -73,17 +77,39 @@ public class ReuseExecutor extends BaseExecutor {
 
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) {
-    for (Statement stmt : statementMap.values()) {
+    // statements are kept open across transactions up to the cache size, least recently used ones are closed first
+    evictStatements(Math.max(statementCacheSize, 0));
+    return Collections.emptyList();
+  }
+
+  @Override
+  public void close(boolean forceRollback) {
+    try {
+      evictStatements(0);
+    } finally {
+      super.close(forceRollback);
+    }
+  }
+
+  private void evictStatements(int maxSize) {
+    Iterator<Statement> iterator = statementMap.values().iterator();
+    while (statementMap.size() > maxSize && iterator.hasNext()) {
+      Statement stmt = iterator.next();
+      iterator.remove();
       closeStatement(stmt);
     }
-    statementMap.clear();
-    return Collections.emptyList();
   }
 
   private Statement prepareStatement(StatementHandler handler, Log statementLog) throws SQLException {
     Statement stmt;
     BoundSql boundSql = handler.getBoundSql();
     String sql = boundSql.getSql();
+    Connection currentConnection = transaction.getConnection();
+    if (currentConnection != statementConnection) {
+      // statements prepared on a previous connection cannot be reused
+      evictStatements(0);
+      statementConnection = currentConnection;
+    }
     if (hasStatementFor(sql)) {
       stmt = getStatement(sql);
       applyTransactionTimeout(stmt);
@@ -0,0 +1,217 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.loader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.util.MapUtil;
+
+/**
+ * A {@link ResultLoader} that loads the result of a nested select together with the other parent rows of its
+ * {@link Batch}.
+ * <p>
+ * The nested statement is executed once per batch with the collected keys as a list parameter (available as
+ * {@code list} and {@code collection}), so it is typically written with a {@code <foreach>} inside an {@code IN}
+ * clause. The rows it returns must expose the foreign column as a property, which is used to hand each row back to the
+ * parent that owns the key. Parent keys and foreign keys are matched by value: numbers of different types are equal
+ * when their values are, and arrays when their elements are.
+ * <p>
+ * The loader is created with the parameter, cache key and bound SQL of its key alone, which {@link #loadKeyResult()}
+ * executes. This is how a key is loaded when its batch is already being loaded by an enclosing query, as happens with
+ * circular references.
+ *
+ * @since 3.5.17
+ */
+public class BatchResultLoader extends ResultLoader {
+
+  private static final ThreadLocal<Set<CacheKey>> LOADING_BATCHES = new ThreadLocal<>();
+
+  private final Batch batch;
+  private final Object key;
+
+  public BatchResultLoader(Configuration config, Executor executor, MappedStatement mappedStatement, Batch batch,
+      Object key, Class<?> targetType, CacheKey keyCacheKey, BoundSql keyBoundSql) {
+    super(config, executor, mappedStatement, toParameterObject(key), targetType, keyCacheKey, keyBoundSql);
+    this.batch = batch;
+    this.key = key;
+    batch.addKey(key);
+  }
+
+  /**
+   * Creates the parameter the nested statement receives to load a key alone.
+   *
+   * @param key
+   *          the parent key
+   *
+   * @return the parameter object
+   */
+  public static Object toParameterObject(Object key) {
+    return ParamNameResolver.wrapToMapIfCollection(Collections.singletonList(key), null);
+  }
+
+  @Override
+  public Object loadResult() throws SQLException {
+    resultObject = resultExtractor.extractObjectFromList(batch.getRows(this, key), targetType);
+    return resultObject;
+  }
+
+  /**
+   * Loads the result of the key of this loader with a query of its own.
+   *
+   * @return the result
+   *
+   * @throws SQLException
+   *           if a database access error occurs
+   */
+  public Object loadKeyResult() throws SQLException {
+    return super.loadResult();
+  }
+
+  /**
+   * Returns whether the batch of this loader is being loaded by an enclosing query of the current thread.
+   *
+   * @return {@code true} if loading the batch now would query it again from within its own results
+   */
+  public boolean isBatchLoading() {
+    Set<CacheKey> loadingBatches = LOADING_BATCHES.get();
+    return loadingBatches != null && batch.rowsByKey == null && loadingBatches.contains(batch.getId(mappedStatement));
+  }
+
+  /**
+   * Gets the value a key is matched by.
+   */
+  private static CacheKey normalizeKey(Object key) {
+    Object value = key;
+    if (key instanceof BigDecimal) {
+      value = ((BigDecimal) key).stripTrailingZeros();
+    } else if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte
+        || key instanceof BigInteger) {
+      value = new BigDecimal(key.toString()).stripTrailingZeros();
+    } else if ((key instanceof Double || key instanceof Float) && !Double.isNaN(((Number) key).doubleValue())
+        && !Double.isInfinite(((Number) key).doubleValue())) {
+      value = new BigDecimal(key.toString()).stripTrailingZeros();
+    }
+    // compares arrays by their elements
+    CacheKey cacheKey = new CacheKey();
+    cacheKey.update(value);
+    return cacheKey;
+  }
+
+  /**
+   * Keys of nested selects that are loaded with a single query.
+   */
+  public static class Batch {
+
+    private final Configuration configuration;
+    private final String foreignColumn;
+    private final int size;
+    private final Map<CacheKey, Object> keys = new LinkedHashMap<>();
+    private Map<CacheKey, List<Object>> rowsByKey;
+
+    public Batch(Configuration configuration, String foreignColumn, int size) {
+      this.configuration = configuration;
+      this.foreignColumn = foreignColumn;
+      this.size = size;
+    }
+
+    public boolean isFull() {
+      return rowsByKey != null || keys.size() >= size;
+    }
+
+    private void addKey(Object key) {
+      keys.putIfAbsent(normalizeKey(key), key);
+    }
+
+    private CacheKey getId(MappedStatement mappedStatement) {
+      CacheKey id = new CacheKey(new Object[] { mappedStatement.getId(), foreignColumn });
+      keys.keySet().forEach(id::update);
+      return id;
+    }
+
+    private List<Object> getRows(BatchResultLoader loader, Object key) throws SQLException {
+      if (rowsByKey == null) {
+        List<Object> rows = selectRows(loader);
+        Map<CacheKey, List<Object>> distributed = new HashMap<>();
+        String foreignProperty = null;
+        for (Object row : rows) {
+          MetaObject metaRow = configuration.newMetaObject(row);
+          if (foreignProperty == null) {
+            foreignProperty = findForeignProperty(metaRow, loader.mappedStatement);
+          }
+          Object foreignKey = metaRow.getValue(foreignProperty);
+          MapUtil.computeIfAbsent(distributed, normalizeKey(foreignKey), k -> new ArrayList<>()).add(row);
+        }
+        rowsByKey = distributed;
+      }
+      List<Object> rows = rowsByKey.get(normalizeKey(key));
+      return rows == null ? new ArrayList<>() : new ArrayList<>(rows);
+    }
+
+    private List<Object> selectRows(BatchResultLoader loader) throws SQLException {
+      final CacheKey batchId = getId(loader.mappedStatement);
+      Set<CacheKey> loadingBatches = LOADING_BATCHES.get();
+      if (loadingBatches == null) {
+        loadingBatches = new HashSet<>();
+        LOADING_BATCHES.set(loadingBatches);
+      }
+      loadingBatches.add(batchId);
+      try {
+        return loader.selectList(ParamNameResolver.wrapToMapIfCollection(new ArrayList<>(keys.values()), null));
+      } finally {
+        loadingBatches.remove(batchId);
+        if (loadingBatches.isEmpty()) {
+          LOADING_BATCHES.remove();
+        }
+      }
+    }
+
+    private String findForeignProperty(MetaObject metaRow, MappedStatement mappedStatement) {
+      if (metaRow.getOriginalObject() instanceof Map) {
+        for (Object name : ((Map<?, ?>) metaRow.getOriginalObject()).keySet()) {
+          if (name instanceof String && foreignColumn.equalsIgnoreCase((String) name)) {
+            return (String) name;
+          }
+        }
+      } else {
+        String property = metaRow.findProperty(foreignColumn, true);
+        if (property != null && metaRow.hasGetter(property)) {
+          return property;
+        }
+      }
+      throw new ExecutorException("Batch fetching requires the results of '" + mappedStatement.getId()
+          + "' to contain the foreign column '" + foreignColumn + "' as a property.");
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -74,17 +74,49 @@ public class ResultLoader {
   }
 
   private <E> List<E> selectList() throws SQLException {
-    Executor localExecutor = executor;
-    if (Thread.currentThread().getId() != this.creatorThreadId || localExecutor.isClosed()) {
-      localExecutor = newExecutor();
-    }
+    Executor localExecutor = getLocalExecutor();
     try {
       return localExecutor.query(mappedStatement, parameterObject, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER,
           cacheKey, boundSql);
     } finally {
-      if (localExecutor != executor) {
-        localExecutor.close(false);
-      }
+      closeLocalExecutor(localExecutor);
+    }
+  }
+
+  /**
+   * Executes the mapped statement of this loader with the given parameter instead of the one it was created with.
+   *
+   * @param <E>
+   *          the element type
+   * @param parameterObject
+   *          the parameter object
+   *
+   * @return the result list
+   *
+   * @throws SQLException
+   *           if a database access error occurs
+   *
+   * @since 3.5.17
+   */
+  protected <E> List<E> selectList(Object parameterObject) throws SQLException {
+    Executor localExecutor = getLocalExecutor();
+    try {
+      return localExecutor.query(mappedStatement, parameterObject, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    } finally {
+      closeLocalExecutor(localExecutor);
+    }
+  }
+
+  private Executor getLocalExecutor() {
+    if (Thread.currentThread().getId() != this.creatorThreadId || executor.isClosed()) {
+      return newExecutor();
+    }
+    return executor;
+  }
+
+  private void closeLocalExecutor(Executor localExecutor) {
+    if (localExecutor != executor) {
+      localExecutor.close(false);
     }
   }
 
@@ -0,0 +1,149 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free latency histogram with power of two microsecond buckets.
+ * <p>
+ * Bucket {@code 0} counts latencies below one microsecond and bucket {@code i} counts latencies from {@code 2^(i-1)} up
+ * to {@code 2^i} microseconds. The last bucket also counts everything above.
+ *
+ * @since 3.5.17
+ */
+public class LatencyHistogram {
+
+  private static final int BUCKETS = 40;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalTime = new LongAdder();
+  private final AtomicLong maxTime = new AtomicLong();
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos
+   *          the latency in nanoseconds
+   */
+  public void record(long nanos) {
+    long micros = Math.max(nanos, 0) / 1000;
+    int bucket = Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    buckets.incrementAndGet(bucket);
+    count.increment();
+    totalTime.add(nanos);
+    maxTime.accumulateAndGet(nanos, Math::max);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Returns the sum of all recorded latencies.
+   *
+   * @return the total time in nanoseconds
+   */
+  public long getTotalTime() {
+    return totalTime.sum();
+  }
+
+  /**
+   * Returns the mean of the recorded latencies.
+   *
+   * @return the mean time in nanoseconds, {@code 0} if nothing was recorded
+   */
+  public long getMeanTime() {
+    long n = count.sum();
+    return n == 0 ? 0 : totalTime.sum() / n;
+  }
+
+  /**
+   * Returns the highest recorded latency.
+   *
+   * @return the max time in nanoseconds
+   */
+  public long getMaxTime() {
+    return maxTime.get();
+  }
+
+  /**
+   * Returns the upper bound of the bucket containing the given percentile.
+   *
+   * @param percentile
+   *          the percentile, between {@code 0} and {@code 100}
+   *
+   * @return the latency in nanoseconds below which at least {@code percentile} percent of the recorded latencies fall,
+   *         capped by the max time; {@code 0} if nothing was recorded
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100 but was " + percentile);
+    }
+    long[] counts = getBucketCounts();
+    long total = 0;
+    for (long bucketCount : counts) {
+      total += bucketCount;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long threshold = Math.max((long) Math.ceil(total * percentile / 100), 1);
+    long cumulated = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulated += counts[i];
+      if (cumulated >= threshold) {
+        return Math.min(getBucketUpperBound(i), getMaxTime());
+      }
+    }
+    return getMaxTime();
+  }
+
+  /**
+   * Returns a snapshot of the bucket counts.
+   *
+   * @return the count of each bucket
+   */
+  public long[] getBucketCounts() {
+    long[] counts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the exclusive upper bound of a bucket.
+   *
+   * @param bucket
+   *          the bucket index
+   *
+   * @return the upper bound in nanoseconds
+   */
+  public static long getBucketUpperBound(int bucket) {
+    return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000;
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram{count=" + getCount() + ", mean=" + getMeanTime() + "ns, p50=" + getPercentile(50)
+        + "ns, p99=" + getPercentile(99) + "ns, max=" + getMaxTime() + "ns}";
+  }
+
+}
@@ -0,0 +1,297 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Timings of a single statement execution.
+ * <p>
+ * An execution is started by the executor only when {@link Configuration#isStatementExecutionInstrumented()} is true,
+ * and the statement handler created for it adds the time spent in each {@link Phase}. When it ends, the execution is
+ * recorded in the statement latency histograms, logged when slower than the slow query threshold and passed to the
+ * registered {@link StatementExecutionListener}s.
+ * <p>
+ * The mutators are meant for the executor and the statement handlers only. Once the execution has ended they throw an
+ * {@link ExecutorException}, so a listener cannot change what the other listeners and the slow query log see.
+ *
+ * @since 3.5.17
+ */
+public class StatementExecution {
+
+  /**
+   * The phases of a statement execution.
+   */
+  public enum Phase {
+    /**
+     * Creating the JDBC statement.
+     */
+    PREPARE,
+    /**
+     * Setting the parameters.
+     */
+    PARAMETERIZE,
+    /**
+     * Executing the statement in the database.
+     */
+    EXECUTE,
+    /**
+     * Mapping the result sets, including nested selects.
+     */
+    MAP
+  }
+
+  private static final Log log = LogFactory.getLog(StatementExecution.class);
+
+  private static final ThreadLocal<StatementExecution> CURRENT = new ThreadLocal<>();
+
+  private final MappedStatement mappedStatement;
+  private final StatementExecution previous;
+  private final long startTime;
+  private final long[] phaseTimes = new long[Phase.values().length];
+  private long totalTime = -1;
+  private int rows = -1;
+  private boolean cacheHit;
+  private Throwable failure;
+
+  private StatementExecution(MappedStatement mappedStatement, StatementExecution previous) {
+    this.mappedStatement = mappedStatement;
+    this.previous = previous;
+    this.startTime = System.nanoTime();
+  }
+
+  /**
+   * Starts the execution of a statement on the current thread.
+   *
+   * @param mappedStatement
+   *          the executed statement
+   *
+   * @return the started execution, or {@code null} if statement executions are not instrumented
+   */
+  public static StatementExecution start(MappedStatement mappedStatement) {
+    if (!mappedStatement.getConfiguration().isStatementExecutionInstrumented()) {
+      return null;
+    }
+    StatementExecution execution = new StatementExecution(mappedStatement, CURRENT.get());
+    CURRENT.set(execution);
+    return execution;
+  }
+
+  /**
+   * Returns the execution in progress on the current thread.
+   *
+   * @param configuration
+   *          the configuration
+   *
+   * @return the current execution, or {@code null} if there is none
+   */
+  public static StatementExecution current(Configuration configuration) {
+    return configuration.isStatementExecutionInstrumented() ? CURRENT.get() : null;
+  }
+
+  /**
+   * Reports a query that has been answered from a cache without reaching the executor.
+   *
+   * @param mappedStatement
+   *          the executed statement
+   * @param results
+   *          the cached results
+   */
+  public static void reportCacheHit(MappedStatement mappedStatement, List<?> results) {
+    StatementExecution execution = start(mappedStatement);
+    if (execution != null) {
+      execution.setCacheHit(true);
+      execution.setRows(results.size());
+      execution.end();
+    }
+  }
+
+  /**
+   * Ends this execution and notifies the listeners.
+   * <p>
+   * A failure of the latency histograms, the slow query log or a listener is logged and never thrown, so that it
+   * neither hides the outcome of the statement nor keeps the other listeners from being notified.
+   */
+  public void end() {
+    checkInProgress();
+    totalTime = System.nanoTime() - startTime;
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+    Configuration configuration = mappedStatement.getConfiguration();
+    try {
+      if (configuration.isStatementLatencyHistogramsEnabled()) {
+        configuration.getStatementLatencyHistograms().onStatementExecuted(this);
+      }
+      Integer slowQueryThreshold = configuration.getSlowQueryThreshold();
+      if (slowQueryThreshold != null && totalTime >= TimeUnit.MILLISECONDS.toNanos(slowQueryThreshold)) {
+        logSlowQuery();
+      }
+    } catch (RuntimeException e) {
+      log.warn("Error recording the execution of '" + mappedStatement.getId() + "'.  Cause: " + e);
+    }
+    for (StatementExecutionListener listener : configuration.getStatementExecutionListeners()) {
+      try {
+        listener.onStatementExecuted(this);
+      } catch (RuntimeException e) {
+        log.warn("Error notifying " + listener.getClass().getName() + " of the execution of '" + mappedStatement.getId()
+            + "'.  Cause: " + e);
+      }
+    }
+  }
+
+  private void logSlowQuery() {
+    Log log = mappedStatement.getStatementLog();
+    log.warn("Slow statement: " + mappedStatement.getId() + " took " + TimeUnit.NANOSECONDS.toMillis(totalTime)
+        + " ms (prepare " + toMicros(Phase.PREPARE) + " us, parameterize " + toMicros(Phase.PARAMETERIZE)
+        + " us, execute " + toMicros(Phase.EXECUTE) + " us, map " + toMicros(Phase.MAP) + " us), rows: " + rows);
+  }
+
+  private long toMicros(Phase phase) {
+    return TimeUnit.NANOSECONDS.toMicros(phaseTimes[phase.ordinal()]);
+  }
+
+  /**
+   * Adds time spent in a phase. For the statement handlers only.
+   *
+   * @param phase
+   *          the phase
+   * @param nanos
+   *          the time in nanoseconds
+   *
+   * @throws ExecutorException
+   *           if the execution has ended
+   */
+  public void addPhaseTime(Phase phase, long nanos) {
+    checkInProgress();
+    phaseTimes[phase.ordinal()] += nanos;
+  }
+
+  /**
+   * Sets the number of rows returned or affected. For the executor only.
+   *
+   * @param rows
+   *          the row count
+   *
+   * @throws ExecutorException
+   *           if the execution has ended
+   */
+  public void setRows(int rows) {
+    checkInProgress();
+    this.rows = rows;
+  }
+
+  /**
+   * Sets whether the results were served by a cache. For the executor only.
+   *
+   * @param cacheHit
+   *          {@code true} on a cache hit
+   *
+   * @throws ExecutorException
+   *           if the execution has ended
+   */
+  public void setCacheHit(boolean cacheHit) {
+    checkInProgress();
+    this.cacheHit = cacheHit;
+  }
+
+  /**
+   * Sets the exception that made the execution fail. For the executor only.
+   *
+   * @param failure
+   *          the failure
+   *
+   * @throws ExecutorException
+   *           if the execution has ended
+   */
+  public void setFailure(Throwable failure) {
+    checkInProgress();
+    this.failure = failure;
+  }
+
+  private void checkInProgress() {
+    if (totalTime >= 0) {
+      throw new ExecutorException("The execution of '" + mappedStatement.getId() + "' has already ended.");
+    }
+  }
+
+  public MappedStatement getMappedStatement() {
+    return mappedStatement;
+  }
+
+  public String getStatementId() {
+    return mappedStatement.getId();
+  }
+
+  /**
+   * Returns the time spent in a phase.
+   *
+   * @param phase
+   *          the phase
+   *
+   * @return the time in nanoseconds, {@code 0} if the phase did not happen
+   */
+  public long getPhaseTime(Phase phase) {
+    return phaseTimes[phase.ordinal()];
+  }
+
+  /**
+   * Returns the elapsed time of the whole execution.
+   *
+   * @return the time in nanoseconds, {@code -1} while the execution is in progress
+   */
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * Returns the number of rows returned by a query or affected by an update.
+   *
+   * @return the row count, {@code -1} if unknown (e.g. results passed to a {@code ResultHandler}, cursors, whose
+   *         execution ends when the cursor is opened, or batched updates)
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns whether the results were served by the local or the second level cache.
+   *
+   * @return {@code true} on a cache hit
+   */
+  public boolean isCacheHit() {
+    return cacheHit;
+  }
+
+  /**
+   * Returns the exception that made the execution fail.
+   *
+   * @return the failure, or {@code null} if the execution succeeded
+   */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+}
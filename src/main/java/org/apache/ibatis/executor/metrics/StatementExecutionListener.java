@@ -0,0 +1,36 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.metrics;
+
+/**
+ * Receives the timings of every statement executed by the executors once the execution has ended.
+ * <p>
+ * Listeners are registered with {@link org.apache.ibatis.session.Configuration#addStatementExecutionListener} and are
+ * invoked on the thread that executed the statement, so implementations must be thread safe and should return quickly.
+ *
+ * @since 3.5.17
+ */
+public interface StatementExecutionListener {
+
+  /**
+   * Called after a statement has been executed, successfully or not.
+   *
+   * @param execution
+   *          the ended execution
+   */
+  void onStatementExecuted(StatementExecution execution);
+
+}
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms of the statement executions, one per mapped statement id.
+ *
+ * @since 3.5.17
+ *
+ * @see org.apache.ibatis.session.Configuration#setStatementLatencyHistogramsEnabled(boolean)
+ */
+public class StatementLatencyHistograms implements StatementExecutionListener {
+
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  @Override
+  public void onStatementExecuted(StatementExecution execution) {
+    histograms.computeIfAbsent(execution.getStatementId(), k -> new LatencyHistogram())
+        .record(execution.getTotalTime());
+  }
+
+  /**
+   * Returns the histogram of a statement.
+   *
+   * @param statementId
+   *          the mapped statement id
+   *
+   * @return the histogram, or {@code null} if the statement has not been executed yet
+   */
+  public LatencyHistogram getHistogram(String statementId) {
+    return histograms.get(statementId);
+  }
+
+  public Map<String, LatencyHistogram> getHistograms() {
+    return Collections.unmodifiableMap(histograms);
+  }
+
+  public void clear() {
+    histograms.clear();
+  }
+
+}
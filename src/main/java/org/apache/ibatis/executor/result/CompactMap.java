@@ -0,0 +1,330 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map result whose values are kept in an array indexed by a {@link Schema} shared by all the rows of a result set,
+ * instead of a hash table per row.
+ * <p>
+ * It behaves like any other mutable map: a key of the schema is only present once it has been put, and a key outside of
+ * the schema is kept in a regular map. The entries of the schema iterate in the order of the schema, followed by the
+ * other entries in insertion order. A compact map is serialized as a {@link LinkedHashMap}.
+ *
+ * @since 3.5.17
+ */
+public final class CompactMap extends AbstractMap<String, Object> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final Object ABSENT = new Object();
+
+  private final Schema schema;
+  private final Object[] values;
+  private int size;
+  private Map<String, Object> others;
+  private transient Set<Entry<String, Object>> entrySet;
+
+  public CompactMap(Schema schema) {
+    this.schema = schema;
+    this.values = new Object[schema.keys.length];
+    Arrays.fill(values, ABSENT);
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  @Override
+  public int size() {
+    return others == null ? size : size + others.size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    final int index = schema.indexOf(key);
+    if (index >= 0) {
+      return values[index] != ABSENT;
+    }
+    return others != null && others.containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    final int index = schema.indexOf(key);
+    if (index >= 0) {
+      final Object value = values[index];
+      return value == ABSENT ? null : value;
+    }
+    return others == null ? null : others.get(key);
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    final int index = schema.indexOf(key);
+    if (index >= 0) {
+      return putAt(index, value);
+    }
+    if (others == null) {
+      others = new LinkedHashMap<>();
+    }
+    return others.put(key, value);
+  }
+
+  /**
+   * Puts the value of a key of the schema, like {@link #put(String, Object)} without looking the key up.
+   *
+   * @param index
+   *          the index of the key in the schema, as returned by {@link Schema#indexOf(Object)}
+   * @param value
+   *          the value
+   *
+   * @return the previous value of the key, or {@code null} if it was not present
+   */
+  public Object putAt(int index, Object value) {
+    final Object previous = values[index];
+    values[index] = value;
+    if (previous == ABSENT) {
+      size++;
+      return null;
+    }
+    return previous;
+  }
+
+  @Override
+  public Object remove(Object key) {
+    final int index = schema.indexOf(key);
+    if (index >= 0) {
+      return removeAt(index);
+    }
+    return others == null ? null : others.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(values, ABSENT);
+    size = 0;
+    others = null;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  private Object removeAt(int index) {
+    final Object previous = values[index];
+    if (previous == ABSENT) {
+      return null;
+    }
+    values[index] = ABSENT;
+    size--;
+    return previous;
+  }
+
+  private Object writeReplace() {
+    return new LinkedHashMap<>(this);
+  }
+
+  /**
+   * The keys of the maps of a result set, mapped to the index of their value.
+   */
+  public static final class Schema {
+
+    private final String[] keys;
+    private final Map<String, Integer> indexes;
+
+    private Schema(String[] keys, Map<String, Integer> indexes) {
+      this.keys = keys;
+      this.indexes = indexes;
+    }
+
+    /**
+     * Creates a schema of the given keys, ignoring duplicates.
+     *
+     * @param keys
+     *          the keys
+     *
+     * @return the schema
+     */
+    public static Schema of(Collection<String> keys) {
+      final Map<String, Integer> indexes = new HashMap<>();
+      for (String key : keys) {
+        indexes.putIfAbsent(key, indexes.size());
+      }
+      final String[] orderedKeys = new String[indexes.size()];
+      indexes.forEach((key, index) -> orderedKeys[index] = key);
+      return new Schema(orderedKeys, indexes);
+    }
+
+    public Set<String> getKeys() {
+      return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    /**
+     * Gets the index of the value of a key.
+     *
+     * @param key
+     *          the key
+     *
+     * @return the index of the key, or {@code -1} if it is not a key of this schema
+     */
+    public int indexOf(Object key) {
+      final Integer index = indexes.get(key);
+      return index == null ? -1 : index;
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+    @Override
+    public int size() {
+      return CompactMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      CompactMap.this.clear();
+    }
+
+    @Override
+    public Iterator<Entry<String, Object>> iterator() {
+      return new EntryIterator();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+    private int next = -1;
+    private int last = -1;
+    private boolean lastFromOthers;
+    private Iterator<Entry<String, Object>> othersIterator;
+
+    EntryIterator() {
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next < values.length) {
+        return true;
+      }
+      if (othersIterator == null && others != null) {
+        othersIterator = others.entrySet().iterator();
+      }
+      return othersIterator != null && othersIterator.hasNext();
+    }
+
+    @Override
+    public Entry<String, Object> next() {
+      if (next < values.length) {
+        last = next;
+        advance();
+        return new SchemaEntry(last);
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = -1;
+      lastFromOthers = true;
+      return othersIterator.next();
+    }
+
+    @Override
+    public void remove() {
+      if (lastFromOthers) {
+        othersIterator.remove();
+        lastFromOthers = false;
+      } else if (last >= 0) {
+        removeAt(last);
+        last = -1;
+      } else {
+        throw new IllegalStateException();
+      }
+    }
+
+    private void advance() {
+      do {
+        next++;
+      } while (next < values.length && values[next] == ABSENT);
+    }
+  }
+
+  private final class SchemaEntry implements Entry<String, Object> {
+
+    private final int index;
+
+    SchemaEntry(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public String getKey() {
+      return schema.keys[index];
+    }
+
+    @Override
+    public Object getValue() {
+      final Object value = values[index];
+      return value == ABSENT ? null : value;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      final Object previous = getValue();
+      if (values[index] == ABSENT) {
+        size++;
+      }
+      values[index] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      final Entry<?, ?> e = (Entry<?, ?>) o;
+      return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+
+}
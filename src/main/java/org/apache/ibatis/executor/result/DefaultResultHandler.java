@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.apache.ibatis.executor.result;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
@@ -38,6 +39,26 @@ public class DefaultResultHandler implements ResultHandler<Object> {
     list = objectFactory.create(List.class);
   }
 
+  /**
+   * Creates a handler collecting the results in a list sized for the expected number of results. The list is only
+   * presized when it would be created by the {@link DefaultObjectFactory}, a custom object factory creates it as usual.
+   *
+   * @param objectFactory
+   *          the object factory creating the list
+   * @param expectedSize
+   *          the expected number of results, or {@code 0} if unknown
+   *
+   * @since 3.5.17
+   */
+  @SuppressWarnings("unchecked")
+  public DefaultResultHandler(ObjectFactory objectFactory, int expectedSize) {
+    if (expectedSize > 0 && objectFactory.getClass() == DefaultObjectFactory.class) {
+      list = new ArrayList<>(expectedSize);
+    } else {
+      list = objectFactory.create(List.class);
+    }
+  }
+
   @Override
   public void handleResult(ResultContext<?> context) {
     list.add(context.getResultObject());
@@ -0,0 +1,254 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.executor.result.CompactMap;
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler.ConstructorAutoMapping;
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler.UnMappedColumnAutoMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * The column metadata of a result set, indexed for case insensitive lookups.
+ * <p>
+ * A layout only depends on the name, JDBC type and class name of the columns, so it is immutable and safe to share
+ * between result sets having the same columns. Everything derived from it (column indexes, type handlers, mapped and
+ * unmapped columns and automatic mappings of a result map, including its constructor arguments) is computed lazily and
+ * kept for the next result set.
+ *
+ * @since 3.5.17
+ */
+public final class ColumnLayout {
+
+  private final String key;
+  private final String[] columnNames;
+  private final String[] classNames;
+  private final JdbcType[] jdbcTypes;
+  private final List<String> columnNameList;
+  private final List<String> classNameList;
+  private final List<JdbcType> jdbcTypeList;
+  private final Map<String, Integer> upperColumnIndexes;
+  private final Map<String, Integer> columnIndexes = new ConcurrentHashMap<>();
+  private final Map<ResultMap, Map<String, ColumnView>> columnViews = new ConcurrentHashMap<>();
+  private final List<Map<Class<?>, TypeHandler<?>>> typeHandlers;
+
+  ColumnLayout(String key, String[] columnNames, String[] classNames, JdbcType[] jdbcTypes) {
+    this.key = key;
+    this.columnNames = columnNames;
+    this.classNames = classNames;
+    this.jdbcTypes = jdbcTypes;
+    this.columnNameList = Collections.unmodifiableList(Arrays.asList(columnNames));
+    this.classNameList = Collections.unmodifiableList(Arrays.asList(classNames));
+    this.jdbcTypeList = Collections.unmodifiableList(Arrays.asList(jdbcTypes));
+    this.upperColumnIndexes = new HashMap<>();
+    this.typeHandlers = new ArrayList<>(columnNames.length);
+    for (int i = 0; i < columnNames.length; i++) {
+      typeHandlers.add(new ConcurrentHashMap<>());
+      if (columnNames[i] != null) {
+        // the first column wins like ResultSet#findColumn
+        upperColumnIndexes.putIfAbsent(columnNames[i].toUpperCase(Locale.ENGLISH), i + 1);
+      }
+    }
+  }
+
+  String getKey() {
+    return key;
+  }
+
+  int getColumnCount() {
+    return columnNames.length;
+  }
+
+  List<String> getColumnNames() {
+    return columnNameList;
+  }
+
+  List<String> getClassNames() {
+    return classNameList;
+  }
+
+  List<JdbcType> getJdbcTypes() {
+    return jdbcTypeList;
+  }
+
+  String getClassName(int columnIndex) {
+    return classNames[columnIndex - 1];
+  }
+
+  JdbcType getJdbcType(int columnIndex) {
+    return jdbcTypes[columnIndex - 1];
+  }
+
+  int getColumnIndex(String columnName) {
+    if (columnName == null) {
+      return -1;
+    }
+    Integer columnIndex = columnIndexes.get(columnName);
+    if (columnIndex == null) {
+      columnIndex = upperColumnIndexes.getOrDefault(columnName.toUpperCase(Locale.ENGLISH), -1);
+      columnIndexes.put(columnName, columnIndex);
+    }
+    return columnIndex;
+  }
+
+  TypeHandler<?> getTypeHandler(int columnIndex, Class<?> propertyType) {
+    return propertyType == null ? null : typeHandlers.get(columnIndex - 1).get(propertyType);
+  }
+
+  void putTypeHandler(int columnIndex, Class<?> propertyType, TypeHandler<?> typeHandler) {
+    if (propertyType != null) {
+      typeHandlers.get(columnIndex - 1).putIfAbsent(propertyType, typeHandler);
+    }
+  }
+
+  Set<String> getMappedColumnNames(ResultMap resultMap, String columnPrefix) {
+    return getColumnView(resultMap, columnPrefix).mappedColumnNames;
+  }
+
+  List<String> getUnmappedColumnNames(ResultMap resultMap, String columnPrefix) {
+    return getColumnView(resultMap, columnPrefix).unmappedColumnNames;
+  }
+
+  List<UnMappedColumnAutoMapping> getAutoMappings(ResultMap resultMap, String columnPrefix, Class<?> resultClass,
+      boolean mapUnderscoreToCamelCase) {
+    final AutoMappingPlan plan = getColumnView(resultMap, columnPrefix).autoMappingPlan;
+    return plan != null && plan.resultClass.equals(resultClass)
+        && plan.mapUnderscoreToCamelCase == mapUnderscoreToCamelCase ? plan.autoMappings : null;
+  }
+
+  void putAutoMappings(ResultMap resultMap, String columnPrefix, Class<?> resultClass, boolean mapUnderscoreToCamelCase,
+      List<UnMappedColumnAutoMapping> autoMappings) {
+    getColumnView(resultMap, columnPrefix).autoMappingPlan = new AutoMappingPlan(resultClass, mapUnderscoreToCamelCase,
+        autoMappings);
+  }
+
+  ConstructorAutoMapping getConstructorAutoMapping(ResultMap resultMap, String columnPrefix) {
+    return getColumnView(resultMap, columnPrefix).constructorAutoMapping;
+  }
+
+  void putConstructorAutoMapping(ResultMap resultMap, String columnPrefix,
+      ConstructorAutoMapping constructorAutoMapping) {
+    getColumnView(resultMap, columnPrefix).constructorAutoMapping = constructorAutoMapping;
+  }
+
+  /**
+   * Gets the keys of the map results of a result map: the mapped properties followed by the unmapped columns.
+   */
+  CompactMap.Schema getCompactMapSchema(ResultMap resultMap, String columnPrefix) {
+    final ColumnView columnView = getColumnView(resultMap, columnPrefix);
+    CompactMap.Schema schema = columnView.compactMapSchema;
+    if (schema == null) {
+      final String prefix = columnPrefix == null ? "" : columnPrefix.toUpperCase(Locale.ENGLISH);
+      final List<String> keys = new ArrayList<>();
+      for (ResultMapping resultMapping : resultMap.getPropertyResultMappings()) {
+        addCompactMapKey(resultMapping.getProperty(), keys);
+      }
+      for (String columnName : columnView.unmappedColumnNames) {
+        if (columnName.toUpperCase(Locale.ENGLISH).startsWith(prefix)) {
+          addCompactMapKey(columnName.substring(prefix.length()), keys);
+        }
+      }
+      schema = CompactMap.Schema.of(keys);
+      columnView.compactMapSchema = schema;
+    }
+    return schema;
+  }
+
+  private static void addCompactMapKey(String property, List<String> keys) {
+    // nested properties are not keys of the map itself
+    if (property != null && property.indexOf('.') < 0 && property.indexOf('[') < 0) {
+      keys.add(property);
+    }
+  }
+
+  private ColumnView getColumnView(ResultMap resultMap, String columnPrefix) {
+    final String prefix = columnPrefix == null ? "" : columnPrefix;
+    return columnViews.computeIfAbsent(resultMap, k -> new ConcurrentHashMap<>()).computeIfAbsent(prefix,
+        k -> new ColumnView(resultMap, prefix));
+  }
+
+  /**
+   * The columns of the layout split by whether a result map maps them under a column prefix.
+   */
+  private final class ColumnView {
+
+    private final Set<String> mappedColumnNames;
+    private final List<String> unmappedColumnNames;
+    private volatile AutoMappingPlan autoMappingPlan;
+    private volatile ConstructorAutoMapping constructorAutoMapping;
+    private volatile CompactMap.Schema compactMapSchema;
+
+    ColumnView(ResultMap resultMap, String columnPrefix) {
+      final Set<String> mappedColumns = prependPrefixes(resultMap.getMappedColumns(),
+          columnPrefix.toUpperCase(Locale.ENGLISH));
+      Set<String> mapped = new HashSet<>();
+      List<String> unmapped = new ArrayList<>();
+      for (String columnName : columnNames) {
+        final String upperColumnName = columnName.toUpperCase(Locale.ENGLISH);
+        if (mappedColumns.contains(upperColumnName)) {
+          mapped.add(upperColumnName);
+        } else {
+          unmapped.add(columnName);
+        }
+      }
+      this.mappedColumnNames = Collections.unmodifiableSet(mapped);
+      this.unmappedColumnNames = Collections.unmodifiableList(unmapped);
+    }
+
+    private Set<String> prependPrefixes(Set<String> columnNames, String prefix) {
+      if (columnNames == null || columnNames.isEmpty() || prefix.isEmpty()) {
+        return columnNames == null ? Collections.emptySet() : columnNames;
+      }
+      final Set<String> prefixed = new HashSet<>();
+      for (String columnName : columnNames) {
+        prefixed.add(prefix + columnName);
+      }
+      return prefixed;
+    }
+  }
+
+  /**
+   * The automatic mappings of the unmapped columns, shared by the executions mapping them to the same class with the
+   * same settings.
+   */
+  private static final class AutoMappingPlan {
+
+    private final Class<?> resultClass;
+    private final boolean mapUnderscoreToCamelCase;
+    private final List<UnMappedColumnAutoMapping> autoMappings;
+
+    AutoMappingPlan(Class<?> resultClass, boolean mapUnderscoreToCamelCase,
+        List<UnMappedColumnAutoMapping> autoMappings) {
+      this.resultClass = resultClass;
+      this.mapUnderscoreToCamelCase = mapUnderscoreToCamelCase;
+      this.autoMappings = autoMappings;
+    }
+  }
+
+}
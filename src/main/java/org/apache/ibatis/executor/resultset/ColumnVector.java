@@ -0,0 +1,410 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * The values of one column of a {@link ColumnarResult}. Numeric columns are kept in primitive arrays, string columns
+ * are dictionary encoded, and null values are flagged in a bitmap.
+ *
+ * @since 3.5.17
+ */
+public abstract class ColumnVector {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final String name;
+  private final JdbcType jdbcType;
+  private final Class<?> javaType;
+  private final BitSet nulls = new BitSet();
+  protected int size;
+
+  ColumnVector(String name, JdbcType jdbcType, Class<?> javaType) {
+    this.name = name;
+    this.jdbcType = jdbcType;
+    this.javaType = javaType;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public JdbcType getJdbcType() {
+    return jdbcType;
+  }
+
+  /**
+   * Gets the Java type the values were read as.
+   *
+   * @return the java type
+   */
+  public Class<?> getJavaType() {
+    return javaType;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isNull(int row) {
+    checkRow(row);
+    return nulls.get(row);
+  }
+
+  /**
+   * Gets the value of a row, boxed.
+   *
+   * @param row
+   *          the 0-based row index
+   *
+   * @return the value, or {@code null} if the column is null in that row
+   */
+  public abstract Object get(int row);
+
+  /**
+   * Returns whether a value can be kept by this vector. A type handler may return values of another type than the
+   * column class reported by the driver, in which case the column is kept in an {@link ObjectVector} instead.
+   */
+  boolean accepts(Object value) {
+    return value == null || javaType.isInstance(value);
+  }
+
+  /**
+   * Copies the values added so far into an {@link ObjectVector}.
+   */
+  ObjectVector toObjectVector() {
+    final ObjectVector vector = new ObjectVector(name, jdbcType, Object.class);
+    vector.ensureCapacity(size);
+    for (int row = 0; row < size; row++) {
+      vector.add(get(row));
+    }
+    return vector;
+  }
+
+  void add(Object value) {
+    if (value == null) {
+      nulls.set(size);
+    }
+    ensureCapacity(size + 1);
+    set(size++, value);
+  }
+
+  abstract void ensureCapacity(int capacity);
+
+  abstract void set(int row, Object value);
+
+  abstract void trim();
+
+  protected void checkRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException(
+          "Row " + row + " is out of bounds for column '" + name + "' of " + size + " rows");
+    }
+  }
+
+  static int grow(int length, int capacity) {
+    return Math.max(capacity, Math.max(INITIAL_CAPACITY, length * 2));
+  }
+
+  static ColumnVector of(String name, JdbcType jdbcType, Class<?> javaType) {
+    if (Integer.class.equals(javaType) || Short.class.equals(javaType) || Byte.class.equals(javaType)) {
+      return new IntVector(name, jdbcType, javaType);
+    }
+    if (Long.class.equals(javaType)) {
+      return new LongVector(name, jdbcType, javaType);
+    }
+    if (Double.class.equals(javaType) || Float.class.equals(javaType)) {
+      return new DoubleVector(name, jdbcType, javaType);
+    }
+    if (String.class.equals(javaType)) {
+      return new StringVector(name, jdbcType);
+    }
+    return new ObjectVector(name, jdbcType, javaType);
+  }
+
+  /**
+   * A column of {@code INTEGER}, {@code SMALLINT} or {@code TINYINT} values.
+   */
+  public static final class IntVector extends ColumnVector {
+
+    private int[] values = new int[0];
+
+    IntVector(String name, JdbcType jdbcType, Class<?> javaType) {
+      super(name, jdbcType, javaType);
+    }
+
+    /**
+     * Gets the value of a row, or {@code 0} if the column is null in that row.
+     *
+     * @param row
+     *          the 0-based row index
+     *
+     * @return the value
+     */
+    public int getInt(int row) {
+      checkRow(row);
+      return values[row];
+    }
+
+    @Override
+    public Object get(int row) {
+      if (isNull(row)) {
+        return null;
+      }
+      if (Short.class.equals(getJavaType())) {
+        return (short) values[row];
+      }
+      return Byte.class.equals(getJavaType()) ? (Object) (byte) values[row] : (Object) values[row];
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+      if (capacity > values.length) {
+        values = Arrays.copyOf(values, grow(values.length, capacity));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+  }
+
+  /**
+   * A column of {@code BIGINT} values.
+   */
+  public static final class LongVector extends ColumnVector {
+
+    private long[] values = new long[0];
+
+    LongVector(String name, JdbcType jdbcType, Class<?> javaType) {
+      super(name, jdbcType, javaType);
+    }
+
+    /**
+     * Gets the value of a row, or {@code 0} if the column is null in that row.
+     *
+     * @param row
+     *          the 0-based row index
+     *
+     * @return the value
+     */
+    public long getLong(int row) {
+      checkRow(row);
+      return values[row];
+    }
+
+    @Override
+    public Object get(int row) {
+      return isNull(row) ? null : values[row];
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+      if (capacity > values.length) {
+        values = Arrays.copyOf(values, grow(values.length, capacity));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value == null ? 0L : ((Number) value).longValue();
+    }
+
+    @Override
+    void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+  }
+
+  /**
+   * A column of {@code DOUBLE}, {@code FLOAT} or {@code REAL} values.
+   */
+  public static final class DoubleVector extends ColumnVector {
+
+    private double[] values = new double[0];
+
+    DoubleVector(String name, JdbcType jdbcType, Class<?> javaType) {
+      super(name, jdbcType, javaType);
+    }
+
+    /**
+     * Gets the value of a row, or {@code 0} if the column is null in that row.
+     *
+     * @param row
+     *          the 0-based row index
+     *
+     * @return the value
+     */
+    public double getDouble(int row) {
+      checkRow(row);
+      return values[row];
+    }
+
+    @Override
+    public Object get(int row) {
+      if (isNull(row)) {
+        return null;
+      }
+      return Float.class.equals(getJavaType()) ? (Object) (float) values[row] : (Object) values[row];
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+      if (capacity > values.length) {
+        values = Arrays.copyOf(values, grow(values.length, capacity));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value == null ? 0d : ((Number) value).doubleValue();
+    }
+
+    @Override
+    void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+  }
+
+  /**
+   * A column of character values, stored as codes into a dictionary of the distinct values.
+   */
+  public static final class StringVector extends ColumnVector {
+
+    private int[] codes = new int[0];
+    private final List<String> dictionary = new ArrayList<>();
+    private Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+    StringVector(String name, JdbcType jdbcType) {
+      super(name, jdbcType, String.class);
+    }
+
+    public String getString(int row) {
+      final int code = getCode(row);
+      return code == -1 ? null : dictionary.get(code);
+    }
+
+    /**
+     * Gets the dictionary code of a row.
+     *
+     * @param row
+     *          the 0-based row index
+     *
+     * @return the index of the value in the {@link #getDictionary() dictionary}, or {@code -1} if the column is null in
+     *         that row
+     */
+    public int getCode(int row) {
+      checkRow(row);
+      return codes[row];
+    }
+
+    /**
+     * Gets the distinct values of the column, in order of first appearance.
+     *
+     * @return the dictionary
+     */
+    public List<String> getDictionary() {
+      return Collections.unmodifiableList(dictionary);
+    }
+
+    @Override
+    public Object get(int row) {
+      return getString(row);
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+      if (capacity > codes.length) {
+        codes = Arrays.copyOf(codes, grow(codes.length, capacity));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      if (value == null) {
+        codes[row] = -1;
+      } else {
+        codes[row] = dictionaryCodes.computeIfAbsent((String) value, k -> {
+          dictionary.add(k);
+          return dictionary.size() - 1;
+        });
+      }
+    }
+
+    @Override
+    void trim() {
+      codes = Arrays.copyOf(codes, size);
+      // the dictionary is complete, the reverse lookup is not needed anymore
+      dictionaryCodes = null;
+    }
+  }
+
+  /**
+   * A column of values without a primitive representation, like decimals or dates.
+   */
+  public static final class ObjectVector extends ColumnVector {
+
+    private Object[] values = new Object[0];
+
+    ObjectVector(String name, JdbcType jdbcType, Class<?> javaType) {
+      super(name, jdbcType, javaType);
+    }
+
+    @Override
+    boolean accepts(Object value) {
+      return true;
+    }
+
+    @Override
+    public Object get(int row) {
+      checkRow(row);
+      return values[row];
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+      if (capacity > values.length) {
+        values = Arrays.copyOf(values, grow(values.length, capacity));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value;
+    }
+
+    @Override
+    void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+  }
+
+}
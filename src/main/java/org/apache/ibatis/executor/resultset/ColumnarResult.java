@@ -0,0 +1,158 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * A whole result set read column by column into {@link ColumnVector}s, instead of one object per row.
+ * <p>
+ * A statement returns a columnar result when its result type is {@code ColumnarResult}, which is also the case of a
+ * mapper method declaring it as return type. The values are read by the type handlers registered for the Java type of
+ * each column. A column whose type handler returns values of another type is kept in an
+ * {@link ColumnVector.ObjectVector}.
+ *
+ * @since 3.5.17
+ */
+public final class ColumnarResult {
+
+  private final List<ColumnVector> columns;
+  private final int rowCount;
+
+  private ColumnarResult(List<ColumnVector> columns, int rowCount) {
+    this.columns = Collections.unmodifiableList(columns);
+    this.rowCount = rowCount;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  public List<ColumnVector> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets a column by position.
+   *
+   * @param index
+   *          the 0-based column index
+   *
+   * @return the column
+   */
+  public ColumnVector getColumn(int index) {
+    return columns.get(index);
+  }
+
+  /**
+   * Gets a column by name, matched case insensitively.
+   *
+   * @param name
+   *          the column name or label
+   *
+   * @return the first column with this name, or {@code null} if there is none
+   */
+  public ColumnVector getColumn(String name) {
+    for (ColumnVector column : columns) {
+      if (column.getName().equalsIgnoreCase(name)) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets a value, boxed.
+   *
+   * @param row
+   *          the 0-based row index
+   * @param column
+   *          the 0-based column index
+   *
+   * @return the value
+   */
+  public Object getValue(int row, int column) {
+    return columns.get(column).get(row);
+  }
+
+  /**
+   * Reads the rows of a result set into the column vectors.
+   */
+  static final class Builder {
+
+    private final List<ColumnVector> columns = new ArrayList<>();
+    private final List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+    private int rowCount;
+
+    Builder(ResultSetWrapper rsw) {
+      final List<String> columnNames = rsw.getColumnNames();
+      for (int i = 0; i < columnNames.size(); i++) {
+        final String columnName = columnNames.get(i);
+        final Class<?> javaType = resolveClass(rsw.getClassNames().get(i));
+        columns.add(ColumnVector.of(columnName, rsw.getJdbcTypes().get(i), javaType));
+        typeHandlers.add(rsw.getTypeHandler(javaType, columnName));
+      }
+    }
+
+    int getRowCount() {
+      return rowCount;
+    }
+
+    void addRow(ResultSet rs) throws SQLException {
+      for (int i = 0; i < columns.size(); i++) {
+        final Object value = typeHandlers.get(i).getResult(rs, i + 1);
+        ColumnVector column = columns.get(i);
+        if (!column.accepts(value)) {
+          column = column.toObjectVector();
+          columns.set(i, column);
+        }
+        column.add(value);
+      }
+      rowCount++;
+    }
+
+    ColumnarResult build() {
+      for (ColumnVector column : columns) {
+        column.trim();
+      }
+      return new ColumnarResult(columns, rowCount);
+    }
+
+    private static Class<?> resolveClass(String className) {
+      try {
+        // className could be null
+        if (className != null) {
+          return Resources.classForName(className);
+        }
+      } catch (ClassNotFoundException e) {
+        // ignore
+      }
+      return Object.class;
+    }
+  }
+
+}
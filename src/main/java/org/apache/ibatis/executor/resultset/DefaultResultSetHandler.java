@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -22,15 +22,24 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.annotations.Param;
@@ -41,9 +50,12 @@ import org.apache.ibatis.cursor.defaults.DefaultCursor;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.loader.BatchResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.result.CompactMap;
+import org.apache.ibatis.executor.result.DefaultMapResultHandler;
 import org.apache.ibatis.executor.result.DefaultResultContext;
 import org.apache.ibatis.executor.result.DefaultResultHandler;
 import org.apache.ibatis.executor.result.ResultMapException;
@@ -57,8 +69,12 @@ import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.apache.ibatis.reflection.factory.ObjectConstructor;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
+import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
@@ -78,6 +94,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private static final Object DEFERRED = new Object();
 
+  private static final ThreadLocal<Boolean> NESTED_QUERY_WORKER = new ThreadLocal<>();
+
+  private static final int PARALLEL_MAPPING_BATCH_SIZE = 256;
+  private static final int MAX_PRESIZED_ROWS = 1024;
+
   private final Executor executor;
   private final Configuration configuration;
   private final MappedStatement mappedStatement;
@@ -90,7 +111,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final ReflectorFactory reflectorFactory;
 
   // nested resultmaps
-  private final Map<CacheKey, Object> nestedResultObjects = new HashMap<>();
+  private final Map<RowKey, Object> nestedResultObjects = new HashMap<>();
+  private final RowKey.Builder rowKeyBuilder = new RowKey.Builder();
+  private final Map<ResultMap, Map<String, List<RowKeyColumn>>> rowKeyColumnsCache = new HashMap<>();
+  private String rowKeyColumnsLayoutKey;
   private final Map<String, Object> ancestorObjects = new HashMap<>();
   private Object previousRowValue;
 
@@ -98,10 +122,36 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final Map<String, ResultMapping> nextResultMaps = new HashMap<>();
   private final Map<CacheKey, List<PendingRelation>> pendingRelations = new HashMap<>();
 
+  // parallel nested queries
+  private final Map<CacheKey, PendingNestedQuery> pendingNestedQueries = new LinkedHashMap<>();
+  private ExecutorService nestedQueryExecutorService;
+
+  // parallel result mapping
+  private ExecutorService resultMappingExecutorService;
+
+  // batch fetched nested queries
+  private final Map<String, BatchResultLoader.Batch> nestedQueryBatches = new HashMap<>();
+  private final List<PendingBatchLoad> pendingBatchLoads = new ArrayList<>();
+  private boolean deferNestedQueries;
+
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
   private final Map<String, List<String>> constructorAutoMappingColumns = new HashMap<>();
 
+  // compiled row mapper of the last simple result map
+  private ResultSetWrapper compiledRowMapperRsw;
+  private ResultMap compiledRowMapperResultMap;
+  private String compiledRowMapperColumnPrefix;
+  private CompiledRowMapper compiledRowMapper;
+
+  // read columns by the index resolved by the result set wrapper
+  private final boolean useColumnIndex;
+  // invoke the constructor resolved by a constructor auto-mapping instead of looking it up in the object factory
+  private final boolean useObjectConstructors;
+  // create map results as compact maps sharing the keys of the result set
+  private final boolean useCompactMaps;
+  private boolean streamNestedResults;
+
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
 
@@ -110,7 +160,36 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
-  private static class UnMappedColumnAutoMapping {
+  private static class PendingNestedQuery {
+    private final ResultLoader resultLoader;
+    private final List<MetaObject> metaObjects = new ArrayList<>();
+    private final List<String> properties = new ArrayList<>();
+
+    PendingNestedQuery(ResultLoader resultLoader) {
+      this.resultLoader = resultLoader;
+    }
+  }
+
+  private static class PendingBatchLoad {
+    private final BatchResultLoader resultLoader;
+    private final MappedStatement nestedQuery;
+    private final CacheKey key;
+    private final Class<?> targetType;
+    private final MetaObject metaObject;
+    private final String property;
+
+    PendingBatchLoad(BatchResultLoader resultLoader, MappedStatement nestedQuery, CacheKey key, Class<?> targetType,
+        MetaObject metaObject, String property) {
+      this.resultLoader = resultLoader;
+      this.nestedQuery = nestedQuery;
+      this.key = key;
+      this.targetType = targetType;
+      this.metaObject = metaObject;
+      this.property = property;
+    }
+  }
+
+  static class UnMappedColumnAutoMapping {
     private final String column;
     private final String property;
     private final TypeHandler<?> typeHandler;
@@ -124,6 +203,55 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  /**
+   * The columns read into the constructor arguments of a result type without constructor mappings.
+   */
+  static final class ConstructorAutoMapping {
+    private final Constructor<?> constructor;
+    private final boolean argNameBased;
+    private final boolean mapUnderscoreToCamelCase;
+    private final List<Class<?>> argTypes = new ArrayList<>();
+    private final List<String> columns = new ArrayList<>();
+    private final List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+    private String missingArgsMessage;
+    private ObjectConstructor objectConstructor;
+
+    ConstructorAutoMapping(Constructor<?> constructor, boolean argNameBased, boolean mapUnderscoreToCamelCase) {
+      this.constructor = constructor;
+      this.argNameBased = argNameBased;
+      this.mapUnderscoreToCamelCase = mapUnderscoreToCamelCase;
+    }
+
+    private void addArg(Class<?> argType, String column, TypeHandler<?> typeHandler) {
+      argTypes.add(argType);
+      columns.add(column);
+      typeHandlers.add(typeHandler);
+    }
+
+    boolean matches(Class<?> resultType, boolean argNameBased, boolean mapUnderscoreToCamelCase) {
+      return constructor.getDeclaringClass().equals(resultType) && this.argNameBased == argNameBased
+          && this.mapUnderscoreToCamelCase == mapUnderscoreToCamelCase;
+    }
+
+    private ObjectConstructor getObjectConstructor() {
+      // racy but idempotent, the cached constructor is immutable
+      if (objectConstructor == null) {
+        objectConstructor = ObjectConstructor.forConstructor(constructor);
+      }
+      return objectConstructor;
+    }
+  }
+
+  private static class RowKeyColumn {
+    private final String column;
+    private final TypeHandler<?> typeHandler;
+
+    public RowKeyColumn(String column, TypeHandler<?> typeHandler) {
+      this.column = column;
+      this.typeHandler = typeHandler;
+    }
+  }
+
   public DefaultResultSetHandler(Executor executor, MappedStatement mappedStatement, ParameterHandler parameterHandler,
       ResultHandler<?> resultHandler, BoundSql boundSql, RowBounds rowBounds) {
     this.executor = executor;
@@ -136,6 +264,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     this.objectFactory = configuration.getObjectFactory();
     this.reflectorFactory = configuration.getReflectorFactory();
     this.resultHandler = resultHandler;
+    this.useColumnIndex = configuration.isUseColumnIndex() && configuration.isUseColumnLabel();
+    this.useObjectConstructors = objectFactory.getClass() == DefaultObjectFactory.class;
+    this.useCompactMaps = configuration.isCompactMapResultsEnabled() && useObjectConstructors;
+    // the built-in handlers collect whole results like a list, so only handlers of the caller are streamed to
+    this.streamNestedResults = resultHandler != null && !(resultHandler instanceof DefaultResultHandler)
+        && !(resultHandler instanceof DefaultMapResultHandler) && configuration.isNestedResultStreamingEnabled();
   }
 
   //
@@ -191,6 +325,17 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
     final List<Object> multipleResults = new ArrayList<>();
 
+    if (resultHandler == null) {
+      deferNestedQueries = true;
+      if (NESTED_QUERY_WORKER.get() == null) {
+        nestedQueryExecutorService = configuration.getNestedQueryExecutorService();
+      }
+    }
+    if (configuration.isCompiledRowMappersEnabled()) {
+      // only rows mapped by compiled row mappers are mapped in parallel
+      resultMappingExecutorService = configuration.getResultMappingExecutorService();
+    }
+
     int resultSetCount = 0;
     ResultSetWrapper rsw = getFirstResultSet(stmt);
 
@@ -220,6 +365,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       }
     }
 
+    executePendingBatchLoads();
+    executePendingNestedQueries();
+    deferNestedQueries = false;
+    nestedQueryExecutorService = null;
+    resultMappingExecutorService = null;
     return collapseSingleResultList(multipleResults);
   }
 
@@ -238,6 +388,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
+    streamNestedResults = configuration.isNestedResultStreamingEnabled();
     return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
   }
 
@@ -306,7 +457,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (parentMapping != null) {
         handleRowValues(rsw, resultMap, null, RowBounds.DEFAULT, parentMapping);
       } else if (resultHandler == null) {
-        DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory);
+        DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory,
+            getExpectedRowCount(rowBounds));
         handleRowValues(rsw, resultMap, defaultResultHandler, rowBounds, null);
         multipleResults.add(defaultResultHandler.getResultList());
       } else {
@@ -318,6 +470,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  private static int getExpectedRowCount(RowBounds rowBounds) {
+    // a limit only bounds the row count, do not allocate a large list for a few rows
+    return rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT ? 0 : Math.min(rowBounds.getLimit(), MAX_PRESIZED_ROWS);
+  }
+
   @SuppressWarnings("unchecked")
   private List<Object> collapseSingleResultList(List<Object> multipleResults) {
     return multipleResults.size() == 1 ? (List<Object>) multipleResults.get(0) : multipleResults;
@@ -329,7 +486,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   public void handleRowValues(ResultSetWrapper rsw, ResultMap resultMap, ResultHandler<?> resultHandler,
       RowBounds rowBounds, ResultMapping parentMapping) throws SQLException {
-    if (resultMap.hasNestedResultMaps()) {
+    if (ColumnarResult.class.equals(resultMap.getType())) {
+      handleRowValuesForColumnarResult(rsw, resultHandler, rowBounds, parentMapping);
+    } else if (resultMap.hasNestedResultMaps()) {
       ensureNoRowBounds();
       checkResultHandler();
       handleRowValuesForNestedResultMap(rsw, resultMap, resultHandler, rowBounds, parentMapping);
@@ -348,7 +507,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   }
 
   protected void checkResultHandler() {
-    if (resultHandler != null && configuration.isSafeResultHandlerEnabled() && !mappedStatement.isResultOrdered()) {
+    if (resultHandler != null && configuration.isSafeResultHandlerEnabled() && !isResultOrdered()) {
       throw new ExecutorException(
           "Mapped Statements with nested result mappings cannot be safely used with a custom ResultHandler. "
               + "Use safeResultHandlerEnabled=false setting to bypass this check "
@@ -356,8 +515,20 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  private boolean isResultOrdered() {
+    // streamed rows are expected to be sorted by the id columns of the root result map, like ordered results
+    return mappedStatement.isResultOrdered() || streamNestedResults;
+  }
+
   private void handleRowValuesForSimpleResultMap(ResultSetWrapper rsw, ResultMap resultMap,
       ResultHandler<?> resultHandler, RowBounds rowBounds, ResultMapping parentMapping) throws SQLException {
+    if (resultMappingExecutorService != null && parentMapping == null && resultMap.getDiscriminator() == null) {
+      final CompiledRowMapper rowMapper = getCompiledRowMapper(rsw, resultMap, null);
+      if (rowMapper != null) {
+        handleRowValuesInParallel(rsw, rowMapper, resultHandler, rowBounds);
+        return;
+      }
+    }
     DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
     ResultSet resultSet = rsw.getResultSet();
     skipRows(resultSet, rowBounds);
@@ -368,6 +539,101 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  //
+  // HANDLE ROWS FOR SIMPLE RESULTMAP IN PARALLEL
+  //
+
+  private void handleRowValuesInParallel(ResultSetWrapper rsw, CompiledRowMapper rowMapper,
+      ResultHandler<?> resultHandler, RowBounds rowBounds) throws SQLException {
+    final DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
+    final ResultSet resultSet = rsw.getResultSet();
+    // the result set is only read by this thread, the values are turned into objects by the executor service
+    final Deque<Future<Object[]>> batches = new ArrayDeque<>();
+    final int maxPendingBatches = Math.max(2, configuration.getResultMappingParallelism()) * 2;
+    skipRows(resultSet, rowBounds);
+    int remainingRows = rowBounds.getLimit();
+    boolean hasMoreRows = true;
+    try {
+      while (hasMoreRows && !resultContext.isStopped()) {
+        final Object[][] rows = new Object[Math.min(PARALLEL_MAPPING_BATCH_SIZE, remainingRows)][];
+        int size = 0;
+        while (size < rows.length && !resultSet.isClosed() && resultSet.next()) {
+          rows[size++] = rowMapper.read(resultSet);
+        }
+        remainingRows -= size;
+        hasMoreRows = size == rows.length && remainingRows > 0;
+        final int rowCount = size;
+        if (!hasMoreRows && batches.isEmpty()) {
+          // a single batch is not worth a thread hand-off
+          storeMappedRows(resultHandler, resultContext, mapRows(rowMapper, rows, rowCount));
+        } else if (rowCount > 0) {
+          batches.add(resultMappingExecutorService.submit(() -> mapRows(rowMapper, rows, rowCount)));
+        }
+        while (!batches.isEmpty() && (!hasMoreRows || batches.size() >= maxPendingBatches)
+            && !resultContext.isStopped()) {
+          storeMappedRows(resultHandler, resultContext, getMappedRows(batches.poll()));
+        }
+      }
+    } finally {
+      for (Future<Object[]> batch : batches) {
+        batch.cancel(true);
+      }
+    }
+  }
+
+  private static Object[] mapRows(CompiledRowMapper rowMapper, Object[][] rows, int rowCount) {
+    final Object[] rowValues = new Object[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      rowValues[i] = rowMapper.create(rows[i]);
+    }
+    return rowValues;
+  }
+
+  private void storeMappedRows(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext,
+      Object[] rowValues) {
+    for (Object rowValue : rowValues) {
+      if (resultContext.isStopped()) {
+        return;
+      }
+      callResultHandler(resultHandler, resultContext, rowValue);
+    }
+  }
+
+  private Object[] getMappedRows(Future<Object[]> batch) {
+    try {
+      return batch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutorException("Interrupted while waiting for mapped rows.  Cause: " + e, e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ExecutorException("Error mapping rows.  Cause: " + cause, cause);
+    }
+  }
+
+  //
+  // HANDLE ROWS FOR COLUMNAR RESULT
+  //
+
+  private void handleRowValuesForColumnarResult(ResultSetWrapper rsw, ResultHandler<?> resultHandler,
+      RowBounds rowBounds, ResultMapping parentMapping) throws SQLException {
+    if (parentMapping != null) {
+      throw new ExecutorException("A columnar result cannot be linked to the result map of another result set.");
+    }
+    final ResultSet resultSet = rsw.getResultSet();
+    final ColumnarResult.Builder builder = new ColumnarResult.Builder(rsw);
+    skipRows(resultSet, rowBounds);
+    while (builder.getRowCount() < rowBounds.getLimit() && resultSet.next()) {
+      builder.addRow(resultSet);
+    }
+    // the whole result set is a single result, a cursor must not read it again
+    closeResultSet(resultSet);
+    callResultHandler(resultHandler, new DefaultResultContext<>(), builder.build());
+  }
+
   private void storeObject(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext, Object rowValue,
       ResultMapping parentMapping, ResultSet rs) throws SQLException {
     if (parentMapping != null) {
@@ -407,6 +673,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
 
   private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+    if (configuration.isCompiledRowMappersEnabled()) {
+      CompiledRowMapper rowMapper = getCompiledRowMapper(rsw, resultMap, columnPrefix);
+      if (rowMapper != null) {
+        return rowMapper.map(rsw.getResultSet());
+      }
+    }
     final ResultLoaderMap lazyLoader = new ResultLoaderMap();
     Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix);
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
@@ -422,11 +694,95 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return rowValue;
   }
 
+  //
+  // COMPILED ROW MAPPERS
+  //
+
+  private CompiledRowMapper getCompiledRowMapper(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix)
+      throws SQLException {
+    if (rsw != compiledRowMapperRsw || resultMap != compiledRowMapperResultMap
+        || !Objects.equals(columnPrefix, compiledRowMapperColumnPrefix)) {
+      compiledRowMapper = null;
+      if (isCompilable(rsw, resultMap)) {
+        final boolean autoMapping = shouldApplyAutomaticMappings(resultMap, false);
+        final String key = resultMap.getId() + ":" + columnPrefix + ":" + autoMapping + ":"
+            + configuration.isMapUnderscoreToCamelCase() + ":" + rsw.getLayoutKey();
+        compiledRowMapper = configuration.getCompiledRowMapper(key);
+        if (compiledRowMapper == null) {
+          compiledRowMapper = compileRowMapper(rsw, resultMap, columnPrefix, autoMapping);
+          if (compiledRowMapper != null) {
+            configuration.addCompiledRowMapper(key, compiledRowMapper);
+          }
+        }
+      }
+      compiledRowMapperRsw = rsw;
+      compiledRowMapperResultMap = resultMap;
+      compiledRowMapperColumnPrefix = columnPrefix;
+    }
+    return compiledRowMapper;
+  }
+
+  private boolean isCompilable(ResultSetWrapper rsw, ResultMap resultMap) {
+    final Class<?> resultType = resultMap.getType();
+    if (resultMap.hasNestedQueries() || resultMap.hasNestedResultMaps()
+        || !resultMap.getConstructorResultMappings().isEmpty() || !configuration.isUseColumnLabel()
+        || !(configuration.getObjectWrapperFactory() instanceof DefaultObjectWrapperFactory) || resultType.isInterface()
+        || Map.class.isAssignableFrom(resultType) || Collection.class.isAssignableFrom(resultType)
+        || hasTypeHandlerForResultObject(rsw, resultType)) {
+      return false;
+    }
+    final MetaClass metaType = MetaClass.forClass(resultType, reflectorFactory);
+    if (!metaType.hasDefaultConstructor()) {
+      return false;
+    }
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      final String property = propertyMapping.getProperty();
+      if (propertyMapping.getResultSet() != null || propertyMapping.isCompositeResult()
+          || property != null && !isSimpleProperty(metaType, property)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isSimpleProperty(MetaClass metaType, String property) {
+    return property.indexOf('.') < 0 && property.indexOf('[') < 0 && metaType.hasSetter(property);
+  }
+
+  private CompiledRowMapper compileRowMapper(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix,
+      boolean autoMapping) throws SQLException {
+    final Class<?> resultType = resultMap.getType();
+    final MetaClass metaType = MetaClass.forClass(resultType, reflectorFactory);
+    final List<CompiledRowMapper.ColumnMapping> columnMappings = new ArrayList<>();
+    if (autoMapping) {
+      final MetaObject metaObject = configuration.newMetaObject(objectFactory.create(resultType));
+      for (UnMappedColumnAutoMapping mapping : createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix)) {
+        if (!isSimpleProperty(metaType, mapping.property)) {
+          return null;
+        }
+        columnMappings.add(new CompiledRowMapper.ColumnMapping(rsw.getColumnIndex(mapping.column), mapping.typeHandler,
+            mapping.property, metaType.getSetInvoker(mapping.property), mapping.primitive));
+      }
+    }
+    final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
+      final String property = propertyMapping.getProperty();
+      // issue #541 make property optional
+      if (property != null && column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+        columnMappings
+            .add(new CompiledRowMapper.ColumnMapping(rsw.getColumnIndex(column), propertyMapping.getTypeHandler(),
+                property, metaType.getSetInvoker(property), metaType.getSetterType(property).isPrimitive()));
+      }
+    }
+    return new CompiledRowMapper(configuration, resultType, columnMappings);
+  }
+
   //
   // GET VALUE FROM ROW FOR NESTED RESULT MAP
   //
 
-  private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, CacheKey combinedKey, String columnPrefix,
+  private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, RowKey combinedKey, String columnPrefix,
       Object partialObject) throws SQLException {
     final String resultMapId = resultMap.getId();
     Object rowValue = partialObject;
@@ -452,7 +808,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         foundValues = lazyLoader.size() > 0 || foundValues;
         rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
       }
-      if (combinedKey != CacheKey.NULL_CACHE_KEY) {
+      if (combinedKey != RowKey.NULL_ROW_KEY) {
         nestedResultObjects.put(combinedKey, rowValue);
       }
     }
@@ -492,8 +848,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (propertyMapping.isCompositeResult()
           || column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))
           || propertyMapping.getResultSet() != null) {
-        Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader,
-            columnPrefix);
+        Object value = getPropertyMappingValue(rsw, metaObject, propertyMapping, lazyLoader, columnPrefix);
         // issue #541 make property optional
         final String property = propertyMapping.getProperty();
         if (property == null) {
@@ -516,8 +871,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return foundValues;
   }
 
-  private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping,
-      ResultLoaderMap lazyLoader, String columnPrefix) throws SQLException {
+  private Object getPropertyMappingValue(ResultSetWrapper rsw, MetaObject metaResultObject,
+      ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix) throws SQLException {
+    final ResultSet rs = rsw.getResultSet();
     if (propertyMapping.getNestedQueryId() != null) {
       return getNestedQueryMappingValue(rs, metaResultObject, propertyMapping, lazyLoader, columnPrefix);
     }
@@ -527,7 +883,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     } else {
       final TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
       final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
-      return typeHandler.getResult(rs, column);
+      return getColumnValue(rsw, typeHandler, column);
     }
   }
 
@@ -536,11 +892,22 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final String mapKey = resultMap.getId() + ":" + columnPrefix;
     List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(mapKey);
     if (autoMapping == null) {
-      autoMapping = new ArrayList<>();
-      final List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
       // Remove the entry to release the memory
       List<String> mappedInConstructorAutoMapping = constructorAutoMappingColumns.remove(mapKey);
+      final ColumnLayout layout = rsw.getColumnLayout();
+      final Class<?> resultClass = metaObject.getOriginalObject().getClass();
+      final boolean mapUnderscoreToCamelCase = configuration.isMapUnderscoreToCamelCase();
+      autoMapping = layout.getAutoMappings(resultMap, columnPrefix, resultClass, mapUnderscoreToCamelCase);
+      if (autoMapping != null) {
+        autoMappingsCache.put(mapKey, autoMapping);
+        return autoMapping;
+      }
+      autoMapping = new ArrayList<>();
+      boolean unknownColumns = false;
+      List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
       if (mappedInConstructorAutoMapping != null) {
+        // the unmapped column names are shared by the result sets with the same column layout
+        unmappedColumnNames = new ArrayList<>(unmappedColumnNames);
         unmappedColumnNames.removeAll(mappedInConstructorAutoMapping);
       }
       for (String columnName : unmappedColumnNames) {
@@ -564,26 +931,40 @@ public class DefaultResultSetHandler implements ResultSetHandler {
             autoMapping
                 .add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
           } else {
+            unknownColumns = true;
             configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName, property,
                 propertyType);
           }
         } else {
+          unknownColumns = true;
           configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName,
               property != null ? property : propertyName, null);
         }
       }
       autoMappingsCache.put(mapKey, autoMapping);
+      if (isAutoMappingShareable(resultClass, unknownColumns)) {
+        layout.putAutoMappings(resultMap, columnPrefix, resultClass, mapUnderscoreToCamelCase,
+            Collections.unmodifiableList(autoMapping));
+      }
     }
     return autoMapping;
   }
 
+  private boolean isAutoMappingShareable(Class<?> resultClass, boolean unknownColumns) {
+    // a map wrapper or a custom wrapper may resolve other properties for another instance of the same class,
+    // and unknown columns must be reported by every execution
+    return configuration.getObjectWrapperFactory() instanceof DefaultObjectWrapperFactory
+        && !Map.class.isAssignableFrom(resultClass) && (!unknownColumns
+            || configuration.getAutoMappingUnknownColumnBehavior() == AutoMappingUnknownColumnBehavior.NONE);
+  }
+
   private boolean applyAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
       String columnPrefix) throws SQLException {
     List<UnMappedColumnAutoMapping> autoMapping = createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
-        final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
+        final Object value = getColumnValue(rsw, mapping.typeHandler, mapping.column);
         if (value != null) {
           foundValues = true;
         }
@@ -683,6 +1064,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     if (!constructorMappings.isEmpty()) {
       return createParameterizedResultObject(rsw, resultType, constructorMappings, constructorArgTypes, constructorArgs,
           columnPrefix);
+    } else if (useCompactMaps && resultType == Map.class && !resultMap.hasNestedQueries()) {
+      return new CompactMap(rsw.getColumnLayout().getCompactMapSchema(resultMap, columnPrefix));
     } else if (resultType.isInterface() || metaType.hasDefaultConstructor()) {
       return objectFactory.create(resultType);
     } else if (shouldApplyAutomaticMappings(resultMap, false)) {
@@ -710,7 +1093,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           value = getRowValue(rsw, resultMap, constructorColumnPrefix);
         } else {
           final TypeHandler<?> typeHandler = constructorMapping.getTypeHandler();
-          value = typeHandler.getResult(rsw.getResultSet(), prependPrefix(column, columnPrefix));
+          value = getColumnValue(rsw, typeHandler, prependPrefix(column, columnPrefix));
         }
       } catch (ResultMapException | SQLException e) {
         throw new ExecutorException("Could not process result for mapping: " + constructorMapping, e);
@@ -724,9 +1107,54 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private Object createByConstructorSignature(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix,
       Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) throws SQLException {
-    return applyConstructorAutomapping(rsw, resultMap, columnPrefix, resultType, constructorArgTypes, constructorArgs,
-        findConstructorForAutomapping(resultType, rsw).orElseThrow(() -> new ExecutorException(
-            "No constructor found in " + resultType.getName() + " matching " + rsw.getClassNames())));
+    final ConstructorAutoMapping constructorAutoMapping = getConstructorAutoMapping(rsw, resultMap, columnPrefix,
+        resultType);
+    boolean foundValues = false;
+    for (int i = 0; i < constructorAutoMapping.columns.size(); i++) {
+      final Object value = getColumnValue(rsw, constructorAutoMapping.typeHandlers.get(i),
+          constructorAutoMapping.columns.get(i));
+      constructorArgTypes.add(constructorAutoMapping.argTypes.get(i));
+      constructorArgs.add(value);
+      foundValues = value != null || foundValues;
+    }
+    if (constructorAutoMapping.argNameBased) {
+      final String mapKey = resultMap.getId() + ":" + columnPrefix;
+      if (!autoMappingsCache.containsKey(mapKey)) {
+        constructorAutoMappingColumns.put(mapKey, constructorAutoMapping.columns);
+      }
+      if (foundValues && constructorAutoMapping.missingArgsMessage != null) {
+        throw new ExecutorException(constructorAutoMapping.missingArgsMessage);
+      }
+    }
+    if (!foundValues && !configuration.isReturnInstanceForEmptyRow()) {
+      return null;
+    }
+    if (!useObjectConstructors) {
+      return objectFactory.create(resultType, constructorArgTypes, constructorArgs);
+    }
+    return constructorAutoMapping.getObjectConstructor().newInstance(constructorArgs);
+  }
+
+  private ConstructorAutoMapping getConstructorAutoMapping(ResultSetWrapper rsw, ResultMap resultMap,
+      String columnPrefix, Class<?> resultType) {
+    final ColumnLayout layout = rsw.getColumnLayout();
+    final boolean argNameBased = configuration.isArgNameBasedConstructorAutoMapping();
+    final boolean mapUnderscoreToCamelCase = configuration.isMapUnderscoreToCamelCase();
+    ConstructorAutoMapping constructorAutoMapping = layout.getConstructorAutoMapping(resultMap, columnPrefix);
+    if (constructorAutoMapping == null
+        || !constructorAutoMapping.matches(resultType, argNameBased, mapUnderscoreToCamelCase)) {
+      final Constructor<?> constructor = findConstructorForAutomapping(resultType, rsw)
+          .orElseThrow(() -> new ExecutorException(
+              "No constructor found in " + resultType.getName() + " matching " + rsw.getClassNames()));
+      constructorAutoMapping = new ConstructorAutoMapping(constructor, argNameBased, mapUnderscoreToCamelCase);
+      if (argNameBased) {
+        addArgNameBasedConstructorAutoMappings(rsw, columnPrefix, constructorAutoMapping);
+      } else {
+        addColumnOrderBasedConstructorAutoMappings(rsw, constructorAutoMapping);
+      }
+      layout.putConstructorAutoMapping(resultMap, columnPrefix, constructorAutoMapping);
+    }
+    return constructorAutoMapping;
   }
 
   private Optional<Constructor<?>> findConstructorForAutomapping(final Class<?> resultType, ResultSetWrapper rsw) {
@@ -765,39 +1193,20 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return true;
   }
 
-  private Object applyConstructorAutomapping(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix,
-      Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs, Constructor<?> constructor)
-      throws SQLException {
-    boolean foundValues = false;
-    if (configuration.isArgNameBasedConstructorAutoMapping()) {
-      foundValues = applyArgNameBasedConstructorAutoMapping(rsw, resultMap, columnPrefix, constructorArgTypes,
-          constructorArgs, constructor, foundValues);
-    } else {
-      foundValues = applyColumnOrderBasedConstructorAutomapping(rsw, constructorArgTypes, constructorArgs, constructor,
-          foundValues);
-    }
-    return foundValues || configuration.isReturnInstanceForEmptyRow()
-        ? objectFactory.create(resultType, constructorArgTypes, constructorArgs) : null;
-  }
-
-  private boolean applyColumnOrderBasedConstructorAutomapping(ResultSetWrapper rsw, List<Class<?>> constructorArgTypes,
-      List<Object> constructorArgs, Constructor<?> constructor, boolean foundValues) throws SQLException {
-    Class<?>[] parameterTypes = constructor.getParameterTypes();
+  private void addColumnOrderBasedConstructorAutoMappings(ResultSetWrapper rsw,
+      ConstructorAutoMapping constructorAutoMapping) {
+    Class<?>[] parameterTypes = constructorAutoMapping.constructor.getParameterTypes();
     for (int i = 0; i < parameterTypes.length; i++) {
       Class<?> parameterType = parameterTypes[i];
       String columnName = rsw.getColumnNames().get(i);
       TypeHandler<?> typeHandler = rsw.getTypeHandler(parameterType, columnName);
-      Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
-      constructorArgTypes.add(parameterType);
-      constructorArgs.add(value);
-      foundValues = value != null || foundValues;
+      constructorAutoMapping.addArg(parameterType, columnName, typeHandler);
     }
-    return foundValues;
   }
 
-  private boolean applyArgNameBasedConstructorAutoMapping(ResultSetWrapper rsw, ResultMap resultMap,
-      String columnPrefix, List<Class<?>> constructorArgTypes, List<Object> constructorArgs, Constructor<?> constructor,
-      boolean foundValues) throws SQLException {
+  private void addArgNameBasedConstructorAutoMappings(ResultSetWrapper rsw, String columnPrefix,
+      ConstructorAutoMapping constructorAutoMapping) {
+    final Constructor<?> constructor = constructorAutoMapping.constructor;
     List<String> missingArgs = null;
     Parameter[] params = constructor.getParameters();
     for (Parameter param : params) {
@@ -808,15 +1217,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (columnMatchesParam(columnName, paramName, columnPrefix)) {
           Class<?> paramType = param.getType();
           TypeHandler<?> typeHandler = rsw.getTypeHandler(paramType, columnName);
-          Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
-          constructorArgTypes.add(paramType);
-          constructorArgs.add(value);
-          final String mapKey = resultMap.getId() + ":" + columnPrefix;
-          if (!autoMappingsCache.containsKey(mapKey)) {
-            MapUtil.computeIfAbsent(constructorAutoMappingColumns, mapKey, k -> new ArrayList<>()).add(columnName);
-          }
+          constructorAutoMapping.addArg(paramType, columnName, typeHandler);
           columnNotFound = false;
-          foundValues = value != null || foundValues;
         }
       }
       if (columnNotFound) {
@@ -826,13 +1228,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         missingArgs.add(paramName);
       }
     }
-    if (foundValues && constructorArgs.size() < params.length) {
-      throw new ExecutorException(MessageFormat.format(
+    if (constructorAutoMapping.columns.size() < params.length) {
+      constructorAutoMapping.missingArgsMessage = MessageFormat.format(
           "Constructor auto-mapping of ''{1}'' failed " + "because ''{0}'' were not found in the result set; "
               + "Available columns are ''{2}'' and mapUnderscoreToCamelCase is ''{3}''.",
-          missingArgs, constructor, rsw.getColumnNames(), configuration.isMapUnderscoreToCamelCase()));
+          missingArgs, constructor, rsw.getColumnNames(), configuration.isMapUnderscoreToCamelCase());
     }
-    return foundValues;
   }
 
   private boolean columnMatchesParam(String columnName, String paramName, String columnPrefix) {
@@ -858,7 +1259,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       columnName = rsw.getColumnNames().get(0);
     }
     final TypeHandler<?> typeHandler = rsw.getTypeHandler(resultType, columnName);
-    return typeHandler.getResult(rsw.getResultSet(), columnName);
+    return getColumnValue(rsw, typeHandler, columnName);
   }
 
   //
@@ -890,6 +1291,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final String nestedQueryId = propertyMapping.getNestedQueryId();
     final String property = propertyMapping.getProperty();
     final MappedStatement nestedQuery = configuration.getMappedStatement(nestedQueryId);
+    if (isBatchFetchable(propertyMapping)) {
+      return getBatchedNestedQueryMappingValue(rs, metaResultObject, propertyMapping, nestedQuery, lazyLoader,
+          columnPrefix);
+    }
     final Class<?> nestedQueryParameterType = nestedQuery.getParameterMap().getType();
     final Object nestedQueryParameterObject = prepareParameterForNestedQuery(rs, propertyMapping,
         nestedQueryParameterType, columnPrefix);
@@ -908,6 +1313,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (propertyMapping.isLazy()) {
           lazyLoader.addLoader(property, metaResultObject, resultLoader);
           value = DEFERRED;
+        } else if (nestedQueryExecutorService != null) {
+          addPendingNestedQuery(metaResultObject, property, key, targetType, resultLoader);
+          value = DEFERRED;
         } else {
           value = resultLoader.loadResult();
         }
@@ -916,6 +1324,131 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return value;
   }
 
+  private boolean isBatchFetchable(ResultMapping propertyMapping) {
+    return configuration.getDefaultBatchFetchSize() > 0 && propertyMapping.getForeignColumn() != null
+        && propertyMapping.getResultSet() == null && !propertyMapping.isCompositeResult();
+  }
+
+  private Object getBatchedNestedQueryMappingValue(ResultSet rs, MetaObject metaResultObject,
+      ResultMapping propertyMapping, MappedStatement nestedQuery, ResultLoaderMap lazyLoader, String columnPrefix)
+      throws SQLException {
+    final Object key = typeHandlerRegistry.getUnknownTypeHandler().getResult(rs,
+        prependPrefix(propertyMapping.getColumn(), columnPrefix));
+    // issue #353 & #560 do not execute nested query if key is null
+    if (key == null) {
+      return null;
+    }
+    final String property = propertyMapping.getProperty();
+    final Class<?> targetType = propertyMapping.getJavaType();
+    final Object keyParameterObject = BatchResultLoader.toParameterObject(key);
+    final BoundSql keyBoundSql = nestedQuery.getBoundSql(keyParameterObject);
+    final CacheKey keyCacheKey = executor.createCacheKey(nestedQuery, keyParameterObject, RowBounds.DEFAULT,
+        keyBoundSql);
+    if (executor.isCached(nestedQuery, keyCacheKey)) {
+      executor.deferLoad(nestedQuery, metaResultObject, property, keyCacheKey, targetType);
+      return DEFERRED;
+    }
+    final String batchId = nestedQuery.getId() + ":" + propertyMapping.getForeignColumn();
+    BatchResultLoader.Batch batch = nestedQueryBatches.get(batchId);
+    if (batch == null || batch.isFull()) {
+      batch = new BatchResultLoader.Batch(configuration, propertyMapping.getForeignColumn(),
+          configuration.getDefaultBatchFetchSize());
+      nestedQueryBatches.put(batchId, batch);
+    }
+    final BatchResultLoader resultLoader = new BatchResultLoader(configuration, executor, nestedQuery, batch, key,
+        targetType, keyCacheKey, keyBoundSql);
+    if (propertyMapping.isLazy()) {
+      lazyLoader.addLoader(property, metaResultObject, resultLoader);
+    } else if (deferNestedQueries) {
+      pendingBatchLoads
+          .add(new PendingBatchLoad(resultLoader, nestedQuery, keyCacheKey, targetType, metaResultObject, property));
+    } else {
+      // the row is handed out right away, so this batch only holds its own key
+      return resultLoader.loadResult();
+    }
+    return DEFERRED;
+  }
+
+  private void executePendingBatchLoads() throws SQLException {
+    try {
+      for (PendingBatchLoad pending : pendingBatchLoads) {
+        if (!pending.resultLoader.isBatchLoading()) {
+          pending.metaObject.setValue(pending.property, pending.resultLoader.loadResult());
+        } else if (executor.isCached(pending.nestedQuery, pending.key)) {
+          // a circular reference, resolved once the enclosing query completes
+          executor.deferLoad(pending.nestedQuery, pending.metaObject, pending.property, pending.key,
+              pending.targetType);
+        } else {
+          // querying the batch again would never end, so the key is loaded alone
+          pending.metaObject.setValue(pending.property, pending.resultLoader.loadKeyResult());
+        }
+      }
+    } finally {
+      pendingBatchLoads.clear();
+      nestedQueryBatches.clear();
+    }
+  }
+
+  private void addPendingNestedQuery(MetaObject metaResultObject, String property, CacheKey key, Class<?> targetType,
+      ResultLoader resultLoader) {
+    CacheKey pendingKey = new CacheKey(new Object[] { key, targetType });
+    PendingNestedQuery pending = MapUtil.computeIfAbsent(pendingNestedQueries, pendingKey,
+        k -> new PendingNestedQuery(resultLoader));
+    pending.metaObjects.add(metaResultObject);
+    pending.properties.add(property);
+  }
+
+  private void executePendingNestedQueries() throws SQLException {
+    if (pendingNestedQueries.isEmpty()) {
+      return;
+    }
+    final List<Future<Object>> futures = new ArrayList<>(pendingNestedQueries.size());
+    try {
+      for (PendingNestedQuery pending : pendingNestedQueries.values()) {
+        futures.add(nestedQueryExecutorService.submit(() -> {
+          NESTED_QUERY_WORKER.set(Boolean.TRUE);
+          try {
+            return pending.resultLoader.loadResult();
+          } finally {
+            NESTED_QUERY_WORKER.remove();
+            // pooled threads must not report the context of a previous query
+            ErrorContext.instance().reset();
+          }
+        }));
+      }
+      int i = 0;
+      for (PendingNestedQuery pending : pendingNestedQueries.values()) {
+        final Object value = getNestedQueryResult(futures.get(i++));
+        for (int j = 0; j < pending.metaObjects.size(); j++) {
+          pending.metaObjects.get(j).setValue(pending.properties.get(j), value);
+        }
+      }
+    } finally {
+      for (Future<Object> future : futures) {
+        future.cancel(true);
+      }
+      pendingNestedQueries.clear();
+    }
+  }
+
+  private Object getNestedQueryResult(Future<Object> future) throws SQLException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutorException("Interrupted while waiting for a nested query.  Cause: " + e, e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ExecutorException("Error executing a nested query.  Cause: " + cause, cause);
+    }
+  }
+
   private Object prepareParameterForNestedQuery(ResultSet rs, ResultMapping resultMapping, Class<?> parameterType,
       String columnPrefix) throws SQLException {
     if (resultMapping.isCompositeResult()) {
@@ -995,6 +1528,16 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return typeHandler.getResult(rs, prependPrefix(resultMapping.getColumn(), columnPrefix));
   }
 
+  private Object getColumnValue(ResultSetWrapper rsw, TypeHandler<?> typeHandler, String column) throws SQLException {
+    if (useColumnIndex) {
+      final int columnIndex = rsw.getColumnIndex(column);
+      if (columnIndex > 0) {
+        return typeHandler.getResult(rsw.getResultSet(), columnIndex);
+      }
+    }
+    return typeHandler.getResult(rsw.getResultSet(), column);
+  }
+
   private String prependPrefix(String columnName, String prefix) {
     if (columnName == null || columnName.length() == 0 || prefix == null || prefix.length() == 0) {
       return columnName;
@@ -1014,10 +1557,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     Object rowValue = previousRowValue;
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
       final ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
-      final CacheKey rowKey = createRowKey(discriminatedResultMap, rsw, null);
+      final RowKey rowKey = createRowKey(discriminatedResultMap, rsw, null);
       Object partialObject = nestedResultObjects.get(rowKey);
       // issue #577 && #542
-      if (mappedStatement.isResultOrdered()) {
+      if (isResultOrdered()) {
         if (partialObject == null && rowValue != null) {
           nestedResultObjects.clear();
           storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
@@ -1030,7 +1573,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         }
       }
     }
-    if (rowValue != null && mappedStatement.isResultOrdered() && shouldProcessMoreRows(resultContext, rowBounds)) {
+    if (rowValue != null && isResultOrdered() && shouldProcessMoreRows(resultContext, rowBounds)) {
       storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
       previousRowValue = null;
     } else if (rowValue != null) {
@@ -1043,7 +1586,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
 
   private boolean applyNestedResultMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
-      String parentPrefix, CacheKey parentRowKey, boolean newObject) {
+      String parentPrefix, RowKey parentRowKey, boolean newObject) {
     boolean foundValues = false;
     for (ResultMapping resultMapping : resultMap.getPropertyResultMappings()) {
       final String nestedResultMapId = resultMapping.getNestedResultMapId();
@@ -1062,8 +1605,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
               continue;
             }
           }
-          final CacheKey rowKey = createRowKey(nestedResultMap, rsw, columnPrefix);
-          final CacheKey combinedKey = combineKeys(rowKey, parentRowKey);
+          final RowKey combinedKey = createRowKey(nestedResultMap, rsw, columnPrefix).combine(parentRowKey);
           Object rowValue = nestedResultObjects.get(combinedKey);
           boolean knownValue = rowValue != null;
           instantiateCollectionPropertyIfAppropriate(resultMapping, metaObject); // mandatory
@@ -1128,37 +1670,19 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // UNIQUE RESULT KEY
   //
 
-  private CacheKey createRowKey(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix) throws SQLException {
-    final CacheKey cacheKey = new CacheKey();
-    cacheKey.update(resultMap.getId());
+  private RowKey createRowKey(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix) throws SQLException {
+    final RowKey.Builder rowKey = rowKeyBuilder.start(resultMap.getId());
     List<ResultMapping> resultMappings = getResultMappingsForRowKey(resultMap);
     if (resultMappings.isEmpty()) {
       if (Map.class.isAssignableFrom(resultMap.getType())) {
-        createRowKeyForMap(rsw, cacheKey);
+        createRowKeyForMap(rsw, rowKey);
       } else {
-        createRowKeyForUnmappedProperties(resultMap, rsw, cacheKey, columnPrefix);
+        createRowKeyForUnmappedProperties(resultMap, rsw, rowKey, columnPrefix);
       }
     } else {
-      createRowKeyForMappedProperties(resultMap, rsw, cacheKey, resultMappings, columnPrefix);
+      createRowKeyForMappedProperties(resultMap, rsw, rowKey, resultMappings, columnPrefix);
     }
-    if (cacheKey.getUpdateCount() < 2) {
-      return CacheKey.NULL_CACHE_KEY;
-    }
-    return cacheKey;
-  }
-
-  private CacheKey combineKeys(CacheKey rowKey, CacheKey parentRowKey) {
-    if (rowKey.getUpdateCount() > 1 && parentRowKey.getUpdateCount() > 1) {
-      CacheKey combinedKey;
-      try {
-        combinedKey = rowKey.clone();
-      } catch (CloneNotSupportedException e) {
-        throw new ExecutorException("Error cloning cache key.  Cause: " + e, e);
-      }
-      combinedKey.update(parentRowKey);
-      return combinedKey;
-    }
-    return CacheKey.NULL_CACHE_KEY;
+    return rowKey.build();
   }
 
   private List<ResultMapping> getResultMappingsForRowKey(ResultMap resultMap) {
@@ -1169,26 +1693,44 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return resultMappings;
   }
 
-  private void createRowKeyForMappedProperties(ResultMap resultMap, ResultSetWrapper rsw, CacheKey cacheKey,
+  private void createRowKeyForMappedProperties(ResultMap resultMap, ResultSetWrapper rsw, RowKey.Builder rowKey,
       List<ResultMapping> resultMappings, String columnPrefix) throws SQLException {
-    for (ResultMapping resultMapping : resultMappings) {
-      if (resultMapping.isSimple()) {
-        final String column = prependPrefix(resultMapping.getColumn(), columnPrefix);
-        final TypeHandler<?> th = resultMapping.getTypeHandler();
-        Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
-        // Issue #114
-        if (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
-          final Object value = th.getResult(rsw.getResultSet(), column);
-          if (value != null || configuration.isReturnInstanceForEmptyRow()) {
-            cacheKey.update(column);
-            cacheKey.update(value);
+    for (RowKeyColumn rowKeyColumn : getRowKeyColumns(resultMap, rsw, resultMappings, columnPrefix)) {
+      final Object value = getColumnValue(rsw, rowKeyColumn.typeHandler, rowKeyColumn.column);
+      if (value != null || configuration.isReturnInstanceForEmptyRow()) {
+        rowKey.add(rowKeyColumn.column).add(value);
+      }
+    }
+  }
+
+  private List<RowKeyColumn> getRowKeyColumns(ResultMap resultMap, ResultSetWrapper rsw,
+      List<ResultMapping> resultMappings, String columnPrefix) throws SQLException {
+    if (!rsw.getLayoutKey().equals(rowKeyColumnsLayoutKey)) {
+      // the columns found in the result set depend on its layout
+      rowKeyColumnsCache.clear();
+      rowKeyColumnsLayoutKey = rsw.getLayoutKey();
+    }
+    final Map<String, List<RowKeyColumn>> rowKeyColumnsByPrefix = MapUtil.computeIfAbsent(rowKeyColumnsCache, resultMap,
+        k -> new HashMap<>());
+    List<RowKeyColumn> rowKeyColumns = rowKeyColumnsByPrefix.get(columnPrefix);
+    if (rowKeyColumns == null) {
+      rowKeyColumns = new ArrayList<>();
+      final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
+      for (ResultMapping resultMapping : resultMappings) {
+        if (resultMapping.isSimple()) {
+          final String column = prependPrefix(resultMapping.getColumn(), columnPrefix);
+          // Issue #114
+          if (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+            rowKeyColumns.add(new RowKeyColumn(column, resultMapping.getTypeHandler()));
           }
         }
       }
+      rowKeyColumnsByPrefix.put(columnPrefix, rowKeyColumns);
     }
+    return rowKeyColumns;
   }
 
-  private void createRowKeyForUnmappedProperties(ResultMap resultMap, ResultSetWrapper rsw, CacheKey cacheKey,
+  private void createRowKeyForUnmappedProperties(ResultMap resultMap, ResultSetWrapper rsw, RowKey.Builder rowKey,
       String columnPrefix) throws SQLException {
     final MetaClass metaType = MetaClass.forClass(resultMap.getType(), reflectorFactory);
     List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
@@ -1204,20 +1746,18 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (metaType.findProperty(property, configuration.isMapUnderscoreToCamelCase()) != null) {
         String value = rsw.getResultSet().getString(column);
         if (value != null) {
-          cacheKey.update(column);
-          cacheKey.update(value);
+          rowKey.add(column).add(value);
         }
       }
     }
   }
 
-  private void createRowKeyForMap(ResultSetWrapper rsw, CacheKey cacheKey) throws SQLException {
+  private void createRowKeyForMap(ResultSetWrapper rsw, RowKey.Builder rowKey) throws SQLException {
     List<String> columnNames = rsw.getColumnNames();
     for (String columnName : columnNames) {
       final String value = rsw.getResultSet().getString(columnName);
       if (value != null) {
-        cacheKey.update(columnName);
-        cacheKey.update(value);
+        rowKey.add(columnName).add(value);
       }
     }
   }
@@ -0,0 +1,131 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import org.apache.ibatis.reflection.ArrayUtil;
+
+/**
+ * Identity of the object a row maps to when handling nested result maps: the result map id followed by the id column
+ * names and values, and the key of the parent object for nested objects.
+ * <p>
+ * Unlike {@link org.apache.ibatis.cache.CacheKey}, a row key is immutable and built in a single array, and combining it
+ * with the parent key only references the parent instead of copying it.
+ */
+final class RowKey {
+
+  static final RowKey NULL_ROW_KEY = new RowKey(new Object[0], null);
+
+  private final Object[] values;
+  private final RowKey parent;
+  private final int hashcode;
+
+  private RowKey(Object[] values, RowKey parent) {
+    this.values = values;
+    this.parent = parent;
+    int hash = 17;
+    for (Object value : values) {
+      hash = 31 * hash + (value == null ? 1 : ArrayUtil.hashCode(value));
+    }
+    this.hashcode = parent == null ? hash : 31 * hash + parent.hashcode;
+  }
+
+  boolean isNull() {
+    return values.length < 2;
+  }
+
+  /**
+   * Combines a row key with the key of its parent, so the same nested object under two parents is kept apart.
+   *
+   * @param parent
+   *          the row key of the parent object
+   *
+   * @return the combined key, or {@link #NULL_ROW_KEY} if any of the keys is null
+   */
+  RowKey combine(RowKey parent) {
+    if (isNull() || parent.isNull()) {
+      return NULL_ROW_KEY;
+    }
+    return new RowKey(values, parent);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (!(object instanceof RowKey)) {
+      return false;
+    }
+    final RowKey that = (RowKey) object;
+    if (hashcode != that.hashcode || values.length != that.values.length) {
+      return false;
+    }
+    for (int i = 0; i < values.length; i++) {
+      if (!ArrayUtil.equals(values[i], that.values[i])) {
+        return false;
+      }
+    }
+    return parent == null ? that.parent == null : parent.equals(that.parent);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashcode;
+  }
+
+  @Override
+  public String toString() {
+    StringJoiner joiner = new StringJoiner(":");
+    Arrays.stream(values).map(ArrayUtil::toString).forEach(joiner::add);
+    if (parent != null) {
+      joiner.add("[" + parent + "]");
+    }
+    return joiner.toString();
+  }
+
+  /**
+   * Collects the values of a row key in a buffer reused for every row.
+   */
+  static final class Builder {
+
+    private Object[] buffer = new Object[16];
+    private int size;
+
+    Builder start(String resultMapId) {
+      size = 0;
+      return add(resultMapId);
+    }
+
+    Builder add(Object value) {
+      if (size == buffer.length) {
+        buffer = Arrays.copyOf(buffer, size * 2);
+      }
+      buffer[size++] = value;
+      return this;
+    }
+
+    RowKey build() {
+      final RowKey rowKey = size < 2 ? NULL_ROW_KEY : new RowKey(Arrays.copyOf(buffer, size), null);
+      Arrays.fill(buffer, 0, size, null);
+      size = 0;
+      return rowKey;
+    }
+  }
+
+}
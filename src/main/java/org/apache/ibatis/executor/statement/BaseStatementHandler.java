@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -23,6 +23,8 @@ import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.metrics.StatementExecution;
+import org.apache.ibatis.executor.metrics.StatementExecution.Phase;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.mapping.BoundSql;
@@ -47,6 +49,7 @@ public abstract class BaseStatementHandler implements StatementHandler {
   protected final Executor executor;
   protected final MappedStatement mappedStatement;
   protected final RowBounds rowBounds;
+  protected final StatementExecution execution;
 
   protected BoundSql boundSql;
 
@@ -56,6 +59,7 @@ public abstract class BaseStatementHandler implements StatementHandler {
     this.executor = executor;
     this.mappedStatement = mappedStatement;
     this.rowBounds = rowBounds;
+    this.execution = StatementExecution.current(configuration);
 
     this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
     this.objectFactory = configuration.getObjectFactory();
@@ -86,10 +90,12 @@ public abstract class BaseStatementHandler implements StatementHandler {
   public Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException {
     ErrorContext.instance().sql(boundSql.getSql());
     Statement statement = null;
+    long startTime = startPhase();
     try {
       statement = instantiateStatement(connection);
       setStatementTimeout(statement, transactionTimeout);
       setFetchSize(statement);
+      endPhase(Phase.PREPARE, startTime);
       return statement;
     } catch (SQLException e) {
       closeStatement(statement);
@@ -137,6 +143,34 @@ public abstract class BaseStatementHandler implements StatementHandler {
     }
   }
 
+  /**
+   * Starts timing a phase of the current statement execution.
+   *
+   * @return the start time, or {@code 0} when the execution is not instrumented
+   */
+  protected long startPhase() {
+    return execution == null ? 0L : System.nanoTime();
+  }
+
+  /**
+   * Ends timing a phase of the current statement execution.
+   *
+   * @param phase
+   *          the ended phase
+   * @param startTime
+   *          the start time returned by {@link #startPhase()} or by the previous call of this method
+   *
+   * @return the end time, to be used as start time of the next phase
+   */
+  protected long endPhase(Phase phase, long startTime) {
+    if (execution == null) {
+      return 0L;
+    }
+    long endTime = System.nanoTime();
+    execution.addPhaseTime(phase, endTime - startTime);
+    return endTime;
+  }
+
   protected void generateKeys(Object parameter) {
     KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
     ErrorContext.instance().store();
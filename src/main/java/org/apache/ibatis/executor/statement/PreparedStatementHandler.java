@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.metrics.StatementExecution.Phase;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ResultSetType;
@@ -45,7 +46,9 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public int update(Statement statement) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
+    long startTime = startPhase();
     ps.execute();
+    endPhase(Phase.EXECUTE, startTime);
     int rows = ps.getUpdateCount();
     Object parameterObject = boundSql.getParameterObject();
     KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
@@ -62,14 +65,20 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
+    long startTime = startPhase();
     ps.execute();
-    return resultSetHandler.handleResultSets(ps);
+    startTime = endPhase(Phase.EXECUTE, startTime);
+    List<E> results = resultSetHandler.handleResultSets(ps);
+    endPhase(Phase.MAP, startTime);
+    return results;
   }
 
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
+    long startTime = startPhase();
     ps.execute();
+    endPhase(Phase.EXECUTE, startTime);
     return resultSetHandler.handleCursorResultSets(ps);
   }
 
@@ -94,7 +103,9 @@ public class PreparedStatementHandler extends BaseStatementHandler {
 
   @Override
   public void parameterize(Statement statement) throws SQLException {
+    long startTime = startPhase();
     parameterHandler.setParameters((PreparedStatement) statement);
+    endPhase(Phase.PARAMETERIZE, startTime);
   }
 
 }
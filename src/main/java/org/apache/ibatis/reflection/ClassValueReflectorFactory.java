@@ -0,0 +1,118 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ReflectorFactory} keeping the reflectors in a {@link ClassValue} instead of a map.
+ * <p>
+ * Unlike {@link DefaultReflectorFactory}, the cached reflectors do not keep their classes reachable, so classes loaded
+ * by a discarded class loader (a redeployed application, or dynamic proxies) can be unloaded along with their
+ * reflector. Lookups of cached reflectors do not lock.
+ *
+ * @since 3.5.17
+ */
+public class ClassValueReflectorFactory implements ReflectorFactory {
+
+  private final ClassValue<Reflector> reflectors = new ClassValue<>() {
+    @Override
+    protected Reflector computeValue(Class<?> type) {
+      return createReflector(type);
+    }
+  };
+  private final Map<Class<?>, Boolean> reflectedTypes = new WeakHashMap<>();
+  private final ReentrantLock reflectedTypesLock = new ReentrantLock();
+  private final LongAdder lookups = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private volatile boolean classCacheEnabled = true;
+
+  @Override
+  public boolean isClassCacheEnabled() {
+    return classCacheEnabled;
+  }
+
+  @Override
+  public void setClassCacheEnabled(boolean classCacheEnabled) {
+    this.classCacheEnabled = classCacheEnabled;
+  }
+
+  @Override
+  public Reflector findForClass(Class<?> type) {
+    lookups.increment();
+    if (classCacheEnabled) {
+      return reflectors.get(type);
+    }
+    misses.increment();
+    return new Reflector(type);
+  }
+
+  /**
+   * Gets the number of cached reflectors whose class has not been unloaded.
+   *
+   * @return the number of cached reflectors
+   */
+  public int getSize() {
+    reflectedTypesLock.lock();
+    try {
+      return reflectedTypes.size();
+    } finally {
+      reflectedTypesLock.unlock();
+    }
+  }
+
+  public long getLookupCount() {
+    return lookups.sum();
+  }
+
+  /**
+   * Gets the number of lookups that created a reflector.
+   *
+   * @return the number of misses
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the ratio of lookups answered by a cached reflector.
+   *
+   * @return the hit rate between 0 and 1, or 0 if there was no lookup
+   */
+  public double getHitRate() {
+    final long lookupCount = lookups.sum();
+    if (lookupCount == 0) {
+      return 0;
+    }
+    return (double) Math.max(0, lookupCount - misses.sum()) / lookupCount;
+  }
+
+  private Reflector createReflector(Class<?> type) {
+    misses.increment();
+    final Reflector reflector = new Reflector(type);
+    reflectedTypesLock.lock();
+    try {
+      reflectedTypes.put(type, Boolean.TRUE);
+    } finally {
+      reflectedTypesLock.unlock();
+    }
+    return reflector;
+  }
+
+}
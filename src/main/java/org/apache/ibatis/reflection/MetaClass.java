@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -55,6 +55,10 @@ public class MetaClass {
   }
 
   public String findProperty(String name, boolean useCamelCaseMapping) {
+    // 单个属性直接由 Reflector 解析并缓存
+    if (name.indexOf('.') < 0) {
+      return reflector.findPropertyName(name, useCamelCaseMapping);
+    }
     // 下划线转驼峰
     if (useCamelCaseMapping) {
       name = name.replace("_", "");
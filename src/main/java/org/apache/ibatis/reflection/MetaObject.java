@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -19,10 +19,12 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.executor.result.CompactMap;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.property.PropertyTokenizer;
 import org.apache.ibatis.reflection.wrapper.BeanWrapper;
 import org.apache.ibatis.reflection.wrapper.CollectionWrapper;
+import org.apache.ibatis.reflection.wrapper.CompactMapWrapper;
 import org.apache.ibatis.reflection.wrapper.MapWrapper;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
@@ -59,6 +61,9 @@ public class MetaObject {
       // 必须实现这里对应的方法
     } else if (objectWrapperFactory.hasWrapperFor(object)) {
       this.objectWrapper = objectWrapperFactory.getWrapperFor(this, object);
+      // 创建 CompactMapWrapper 对象
+    } else if (object instanceof CompactMap) {
+      this.objectWrapper = new CompactMapWrapper(this, (CompactMap) object);
       // 创建 MapWrapper 对象
     } else if (object instanceof Map) {
       this.objectWrapper = new MapWrapper(this, (Map) object);
@@ -133,6 +138,10 @@ public class MetaObject {
   }
 
   public Object getValue(String name) {
+    if (objectWrapper.getClass() == BeanWrapper.class) {
+      // 以 bean 为根的表达式只解析一次
+      return PropertyPath.of(name).getValue(this);
+    }
     // 分词器进行分词
     PropertyTokenizer prop = new PropertyTokenizer(name);
     // 根据创建MetaObject对象的时候 产生的不同Wrapper 进行分词获取属性值
@@ -140,6 +149,15 @@ public class MetaObject {
   }
 
   public void setValue(String name, Object value) {
+    if (objectWrapper.getClass() == BeanWrapper.class) {
+      PropertyPath.of(name).setValue(this, value);
+      return;
+    }
+    if (objectWrapper.getClass() == CompactMapWrapper.class
+        && ((CompactMapWrapper) objectWrapper).setSchemaValue(name, value)) {
+      // 结果 map 的键按 schema 的下标写入，不需要分词
+      return;
+    }
     // 根据创建MetaObject对象的时候 产生的不同Wrapper 进行分词设置属性值
     objectWrapper.set(new PropertyTokenizer(name), value);
   }
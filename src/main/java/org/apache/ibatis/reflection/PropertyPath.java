@@ -0,0 +1,197 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+
+/**
+ * A property expression like {@code order.items[0].sku} parsed once and cached by expression.
+ * <p>
+ * {@link MetaObject} uses paths for expressions evaluated on beans only, so that the cache holds the property
+ * expressions of the mappings rather than the keys of the maps (e.g. {@code __frch_} parameters) it is applied to. A
+ * path made of plain bean properties is evaluated directly with the getter and setter invokers of each segment. The
+ * first segment is read and written by the wrapper of the root, which already holds its {@link MetaClass}; the
+ * following ones are resolved by the {@link Reflector} of the {@link ReflectorFactory} of the {@code MetaObject}, as
+ * the child {@code MetaObject}s did. No tokenizer nor intermediate {@link MetaObject} is created. As soon as a segment
+ * is indexed, or reaches a map, a collection or an object with a custom wrapper, the rest of the path is evaluated by
+ * the object wrappers as before.
+ * <p>
+ * A path only holds strings, so that the cache shared by all configurations never keeps a class loaded.
+ *
+ * @since 3.5.17
+ */
+public final class PropertyPath {
+
+  private static final int MAX_CACHED_PATHS = 8192;
+  private static final Map<String, PropertyPath> PATHS = new ConcurrentHashMap<>();
+  private static final Object[] NO_ARGUMENTS = {};
+
+  private final String expression;
+  private final String[] names;
+  private final PropertyTokenizer[] tokenizers;
+  private final PropertyTokenizer rootProperty;
+  private final boolean indexed;
+
+  private PropertyPath(String expression) {
+    this.expression = expression;
+    int size = 1;
+    for (PropertyTokenizer prop = new PropertyTokenizer(expression); prop.hasNext(); prop = prop.next()) {
+      size++;
+    }
+    this.names = new String[size];
+    this.tokenizers = new PropertyTokenizer[size];
+    boolean anyIndex = false;
+    String remaining = expression;
+    for (int i = 0; i < size; i++) {
+      final PropertyTokenizer prop = new PropertyTokenizer(remaining);
+      names[i] = prop.getName();
+      tokenizers[i] = prop;
+      anyIndex = anyIndex || prop.getIndex() != null;
+      remaining = prop.getChildren();
+    }
+    this.indexed = anyIndex;
+    this.rootProperty = size == 1 ? tokenizers[0] : new PropertyTokenizer(names[0]);
+  }
+
+  /**
+   * Gets the path of an expression, parsing it on first use. Once {@value #MAX_CACHED_PATHS} paths are cached, new
+   * expressions are parsed on each use.
+   *
+   * @param expression
+   *          the property expression
+   *
+   * @return the property path
+   */
+  public static PropertyPath of(String expression) {
+    PropertyPath path = PATHS.get(expression);
+    if (path == null) {
+      path = new PropertyPath(expression);
+      if (PATHS.size() < MAX_CACHED_PATHS) {
+        PATHS.putIfAbsent(expression, path);
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Gets the tokenizer of the first segment. The tokenizer is shared and must not be modified.
+   *
+   * @return the tokenizer
+   */
+  public PropertyTokenizer getTokenizer() {
+    return tokenizers[0];
+  }
+
+  public String getExpression() {
+    return expression;
+  }
+
+  Object getValue(MetaObject metaObject) {
+    if (indexed) {
+      return metaObject.getObjectWrapper().get(tokenizers[0]);
+    }
+    Object object = metaObject.getOriginalObject();
+    for (int i = 0; i < names.length; i++) {
+      if (i > 0) {
+        if (object == null) {
+          return null;
+        }
+        if (!isBean(metaObject, object)) {
+          return forObject(metaObject, object).getObjectWrapper().get(tokenizers[i]);
+        }
+      }
+      object = getProperty(metaObject, i, object);
+    }
+    return object;
+  }
+
+  void setValue(MetaObject metaObject, Object value) {
+    if (indexed) {
+      metaObject.getObjectWrapper().set(tokenizers[0], value);
+      return;
+    }
+    Object object = metaObject.getOriginalObject();
+    final int last = names.length - 1;
+    for (int i = 0; i < last; i++) {
+      final Object child = getProperty(metaObject, i, object);
+      if (child == null || !isBean(metaObject, child)) {
+        // the wrapper instantiates a missing child, or handles a map or a collection
+        forObject(metaObject, object).getObjectWrapper().set(tokenizers[i], value);
+        return;
+      }
+      object = child;
+    }
+    setProperty(metaObject, object, value);
+  }
+
+  private Object getProperty(MetaObject metaObject, int segment, Object object) {
+    if (segment == 0) {
+      // the wrapper of the root already holds its meta class
+      return metaObject.getObjectWrapper().get(rootProperty);
+    }
+    final String name = names[segment];
+    try {
+      try {
+        return resolveReflector(metaObject, object).getGetInvoker(name).invoke(object, NO_ARGUMENTS);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new ReflectionException(
+          "Could not get property '" + name + "' from " + object.getClass() + ".  Cause: " + t.toString(), t);
+    }
+  }
+
+  private void setProperty(MetaObject metaObject, Object object, Object value) {
+    if (names.length == 1) {
+      metaObject.getObjectWrapper().set(rootProperty, value);
+      return;
+    }
+    final String name = names[names.length - 1];
+    try {
+      try {
+        resolveReflector(metaObject, object).getSetInvoker(name).invoke(object, new Object[] { value });
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not set property '" + name + "' of '" + object.getClass() + "' with value '"
+          + value + "' Cause: " + t.toString(), t);
+    }
+  }
+
+  private static Reflector resolveReflector(MetaObject metaObject, Object object) {
+    return metaObject.getReflectorFactory().findForClass(object.getClass());
+  }
+
+  private static boolean isBean(MetaObject metaObject, Object object) {
+    return !(object instanceof ObjectWrapper) && !(object instanceof Map) && !(object instanceof Collection)
+        && !metaObject.getObjectWrapperFactory().hasWrapperFor(object);
+  }
+
+  private static MetaObject forObject(MetaObject metaObject, Object object) {
+    return MetaObject.forObject(object, metaObject.getObjectFactory(), metaObject.getObjectWrapperFactory(),
+        metaObject.getReflectorFactory());
+  }
+
+}
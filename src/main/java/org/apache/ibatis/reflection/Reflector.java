@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -36,10 +36,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.reflection.invoker.AmbiguousMethodInvoker;
 import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
 import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaMethodInvoker;
 import org.apache.ibatis.reflection.invoker.MethodInvoker;
 import org.apache.ibatis.reflection.invoker.SetFieldInvoker;
 import org.apache.ibatis.reflection.property.PropertyNamer;
@@ -54,6 +57,7 @@ import org.apache.ibatis.util.MapUtil;
 public class Reflector {
 
   private static final MethodHandle isRecordMethodHandle = getIsRecordMethodHandle();
+  private static final int MAX_RESOLVED_PROPERTY_NAMES = 1024;
 
   /**
    * 对应的类
@@ -108,6 +112,12 @@ public class Reflector {
    */
   private final Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
 
+  /**
+   * 已解析的名称（如列名）对应的属性名称，避免每次解析都转换大小写
+   */
+  private final Map<String, Optional<String>> resolvedPropertyNames = new ConcurrentHashMap<>();
+  private final Map<String, Optional<String>> resolvedCamelCasePropertyNames = new ConcurrentHashMap<>();
+
   public Reflector(Class<?> clazz) {
     // 设置对应的类
     type = clazz;
@@ -206,7 +216,7 @@ public class Reflector {
     // 如果继承的方法和被继承的方法返回类型不是一样写入错误信息 否则就是
     MethodInvoker invoker = isAmbiguous ? new AmbiguousMethodInvoker(method, MessageFormat.format(
         "Illegal overloaded getter method with ambiguous type for property ''{0}'' in class ''{1}''. This breaks the JavaBeans specification and can cause unpredictable results.",
-        name, method.getDeclaringClass().getName())) : new MethodInvoker(method);
+        name, method.getDeclaringClass().getName())) : LambdaMethodInvoker.forMethod(method);
     // 添加方法到方法属性中
     getMethods.put(name, invoker);
     Type returnType = TypeParameterResolver.resolveReturnType(method, type);
@@ -295,7 +305,7 @@ public class Reflector {
   }
 
   private void addSetMethod(String name, Method method) {
-    MethodInvoker invoker = new MethodInvoker(method);
+    MethodInvoker invoker = LambdaMethodInvoker.forMethod(method);
     // 添加方法到方法属性中
     setMethods.put(name, invoker);
     Type[] paramTypes = TypeParameterResolver.resolveParamTypes(method, type);
@@ -578,7 +588,35 @@ public class Reflector {
   }
 
   public String findPropertyName(String name) {
-    return caseInsensitivePropertyMap.get(name.toUpperCase(Locale.ENGLISH));
+    return findPropertyName(name, false);
+  }
+
+  /**
+   * Finds a property by name, ignoring case. The resolutions are cached, so resolving the same name again, like a
+   * column name for every result set, does not convert it.
+   *
+   * @param name
+   *          the name to resolve
+   * @param useCamelCaseMapping
+   *          whether underscores are ignored, as when mapping {@code A_COLUMN} to {@code aColumn}
+   *
+   * @return the property name, or {@code null} if there is no such property
+   *
+   * @since 3.5.17
+   */
+  public String findPropertyName(String name, boolean useCamelCaseMapping) {
+    final Map<String, Optional<String>> resolved = useCamelCaseMapping ? resolvedCamelCasePropertyNames
+        : resolvedPropertyNames;
+    Optional<String> propertyName = resolved.get(name);
+    if (propertyName == null) {
+      final String normalizedName = useCamelCaseMapping ? name.replace("_", "") : name;
+      propertyName = Optional.ofNullable(caseInsensitivePropertyMap.get(normalizedName.toUpperCase(Locale.ENGLISH)));
+      // the names come from mappings and result sets, but do not let arbitrary names grow the cache
+      if (resolved.size() < MAX_RESOLVED_PROPERTY_NAMES) {
+        resolved.put(name, propertyName);
+      }
+    }
+    return propertyName.orElse(null);
   }
 
   /**
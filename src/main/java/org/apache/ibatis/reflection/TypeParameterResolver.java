@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -25,12 +25,27 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Iwao AVE!
  */
 public class TypeParameterResolver {
 
+  /**
+   * 按来源类缓存的解析结果，使用 ClassValue 不会阻止类的卸载
+   */
+  private static final ClassValue<ResolvedTypes> RESOLVED_TYPES = new ClassValue<ResolvedTypes>() {
+    @Override
+    protected ResolvedTypes computeValue(Class<?> type) {
+      return new ResolvedTypes();
+    }
+  };
+
+  private static final ClassLoader RESOLVER_CLASS_LOADER = TypeParameterResolver.class.getClassLoader();
+
   /**
    * 解析属性类型
    *
@@ -38,6 +53,19 @@ public class TypeParameterResolver {
    *         they will be resolved to the actual runtime {@link Type}s.
    */
   public static Type resolveFieldType(Field field, Type srcType) {
+    final ResolvedTypes resolvedTypes = resolvedTypesOf(srcType);
+    if (resolvedTypes != null) {
+      Type resolved = resolvedTypes.fieldTypes.get(field);
+      if (resolved == null) {
+        resolved = resolvedTypes.intern(doResolveFieldType(field, srcType));
+        resolvedTypes.fieldTypes.putIfAbsent(field, resolved);
+      }
+      return resolved;
+    }
+    return doResolveFieldType(field, srcType);
+  }
+
+  private static Type doResolveFieldType(Field field, Type srcType) {
     // 属性类型
     Type fieldType = field.getGenericType();
     // 定义的类
@@ -53,6 +81,19 @@ public class TypeParameterResolver {
    *         they will be resolved to the actual runtime {@link Type}s.
    */
   public static Type resolveReturnType(Method method, Type srcType) {
+    final ResolvedTypes resolvedTypes = resolvedTypesOf(srcType);
+    if (resolvedTypes != null) {
+      Type resolved = resolvedTypes.returnTypes.get(method);
+      if (resolved == null) {
+        resolved = resolvedTypes.intern(doResolveReturnType(method, srcType));
+        resolvedTypes.returnTypes.putIfAbsent(method, resolved);
+      }
+      return resolved;
+    }
+    return doResolveReturnType(method, srcType);
+  }
+
+  private static Type doResolveReturnType(Method method, Type srcType) {
     // 属性类型
     Type returnType = method.getGenericReturnType();
     // 定义的类
@@ -69,6 +110,23 @@ public class TypeParameterResolver {
    *         they will be resolved to the actual runtime {@link Type}s.
    */
   public static Type[] resolveParamTypes(Method method, Type srcType) {
+    final ResolvedTypes resolvedTypes = resolvedTypesOf(srcType);
+    if (resolvedTypes != null) {
+      Type[] resolved = resolvedTypes.paramTypes.get(method);
+      if (resolved == null) {
+        resolved = doResolveParamTypes(method, srcType);
+        for (int i = 0; i < resolved.length; i++) {
+          resolved[i] = resolvedTypes.intern(resolved[i]);
+        }
+        resolvedTypes.paramTypes.putIfAbsent(method, resolved);
+      }
+      // the caller owns the returned array
+      return resolved.clone();
+    }
+    return doResolveParamTypes(method, srcType);
+  }
+
+  private static Type[] doResolveParamTypes(Method method, Type srcType) {
     // 获得方法参数类型数组
     Type[] paramTypes = method.getGenericParameterTypes();
     // 定义的类
@@ -80,6 +138,25 @@ public class TypeParameterResolver {
     return result;
   }
 
+  /**
+   * 获得来源类的缓存。只缓存由 MyBatis 的类加载器或其子加载器加载的类：JDK 等父加载器中的类可能比 MyBatis 活得更久，
+   * 在它们的 ClassValue 中保存缓存会让 MyBatis 的类加载器无法回收
+   *
+   * @param srcType 来源类型
+   * @return 缓存，不缓存时为 null
+   */
+  private static ResolvedTypes resolvedTypesOf(Type srcType) {
+    if (!(srcType instanceof Class)) {
+      return null;
+    }
+    for (ClassLoader loader = ((Class<?>) srcType).getClassLoader(); loader != null; loader = loader.getParent()) {
+      if (loader == RESOLVER_CLASS_LOADER) {
+        return RESOLVED_TYPES.get((Class<?>) srcType);
+      }
+    }
+    return null;
+  }
+
   /**
    * 解析类型
    *
@@ -292,7 +369,8 @@ public class TypeParameterResolver {
 
     @Override
     public Type[] getActualTypeArguments() {
-      return actualTypeArguments;
+      // resolved types are shared, do not expose the array
+      return actualTypeArguments.clone();
     }
 
     @Override
@@ -305,6 +383,25 @@ public class TypeParameterResolver {
       return rawType;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ParameterizedType)) {
+        return false;
+      }
+      final ParameterizedType other = (ParameterizedType) obj;
+      return rawType.equals(other.getRawType()) && Objects.equals(ownerType, other.getOwnerType())
+          && Arrays.equals(actualTypeArguments, other.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+      // same as the parameterized types of the JDK
+      return Arrays.hashCode(actualTypeArguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+    }
+
     @Override
     public String toString() {
       return "ParameterizedTypeImpl [rawType=" + rawType + ", ownerType=" + ownerType + ", actualTypeArguments="
@@ -338,12 +435,29 @@ public class TypeParameterResolver {
 
     @Override
     public Type[] getLowerBounds() {
-      return lowerBounds;
+      return lowerBounds.clone();
     }
 
     @Override
     public Type[] getUpperBounds() {
-      return upperBounds;
+      return upperBounds.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof WildcardType)) {
+        return false;
+      }
+      final WildcardType other = (WildcardType) obj;
+      return Arrays.equals(lowerBounds, other.getLowerBounds()) && Arrays.equals(upperBounds, other.getUpperBounds());
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
     }
   }
 
@@ -373,5 +487,42 @@ public class TypeParameterResolver {
     public Type getGenericComponentType() {
       return genericComponentType;
     }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      return obj instanceof GenericArrayType
+          && Objects.equals(genericComponentType, ((GenericArrayType) obj).getGenericComponentType());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(genericComponentType);
+    }
+  }
+
+  /**
+   * 某个来源类的成员解析后的类型，以及合成类型的规范实例
+   */
+  private static final class ResolvedTypes {
+    private final Map<Field, Type> fieldTypes = new ConcurrentHashMap<>();
+    private final Map<Method, Type> returnTypes = new ConcurrentHashMap<>();
+    private final Map<Method, Type[]> paramTypes = new ConcurrentHashMap<>();
+    private final Map<Type, Type> syntheticTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical instance of a resolved type, so members of the same class resolved to equal types, like a
+     * getter, a setter and a field, share one instance.
+     */
+    Type intern(Type type) {
+      if (type instanceof ParameterizedTypeImpl || type instanceof WildcardTypeImpl
+          || type instanceof GenericArrayTypeImpl) {
+        final Type interned = syntheticTypes.putIfAbsent(type, type);
+        return interned == null ? type : interned;
+      }
+      return type;
+    }
   }
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 package org.apache.ibatis.reflection.factory;
 
 import java.io.Serializable;
-import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,14 +23,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.ibatis.reflection.ReflectionException;
-import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.util.MapUtil;
 
 /**
  * @author Clinton Begin
@@ -40,6 +37,9 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private static final long serialVersionUID = -8855120656740914948L;
 
+  // 构造器按类和参数类型缓存在工厂实例上，随工厂一起释放，不会让类加载器无法回收
+  private transient volatile Map<Class<?>, Map<List<Class<?>>, ObjectConstructor>> constructors;
+
   @Override
   public <T> T create(Class<T> type) {
     return create(type, null, null);
@@ -63,52 +63,34 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
    * @return
    * @param <T> 生成的对应的对象
    */
+  @SuppressWarnings("unchecked")
   private <T> T instantiateClass(Class<T> type, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
-    try {
-      Constructor<T> constructor;
+    // 构造器按类和参数类型缓存，不再每次查找并检查访问权限
+    if (constructorArgTypes == null || constructorArgs == null) {
       // 通过无参构造方法创建对象
-      if (constructorArgTypes == null || constructorArgs == null) {
-        constructor = type.getDeclaredConstructor();
-        try {
-          // 根据无参构造器 创建对象
-          return constructor.newInstance();
-        } catch (IllegalAccessException e) {
-          // 判断是否有权限去开启访问私有方法的权限
-          if (Reflector.canControlMemberAccessible()) {
-            // 开启反射访问无参的私有方法
-            constructor.setAccessible(true);
-            // 根据私有的无参构造器创建对象
-            return constructor.newInstance();
-          }
-          throw e;
-        }
-      }
-      // 根据参数类型拿到对应的有参构造器 创建指定的类对象
-      constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[0]));
-      try {
-        // 根据上面得到的有参构造器传入对应的值  创建对象
-        return constructor.newInstance(constructorArgs.toArray(new Object[0]));
-      } catch (IllegalAccessException e) {
-        // 判断是否有权限去开启访问私有方法的权限
-        if (Reflector.canControlMemberAccessible()) {
-          // 开启反射访问无参的私有方法的权限
-          constructor.setAccessible(true);
-          // 根据上面得到的有参构造器传入对应的值  创建对象
-          return constructor.newInstance(constructorArgs.toArray(new Object[0]));
-        }
-        throw e;
-      }
-    } catch (Exception e) {
-      // 拼接参数类型
-      String argTypes = Optional.ofNullable(constructorArgTypes).orElseGet(Collections::emptyList).stream()
-          .map(Class::getSimpleName).collect(Collectors.joining(","));
-      // 拼接参数值
-      String argValues = Optional.ofNullable(constructorArgs).orElseGet(Collections::emptyList).stream()
-          .map(String::valueOf).collect(Collectors.joining(","));
-      // 抛出错误
-      throw new ReflectionException("Error instantiating " + type + " with invalid types (" + argTypes + ") or values ("
-          + argValues + "). Cause: " + e, e);
+      return (T) getConstructor(type, Collections.emptyList(), Collections.emptyList())
+          .newInstance(Collections.emptyList());
+    }
+    // 根据参数类型拿到对应的有参构造器 创建指定的类对象
+    return (T) getConstructor(type, constructorArgTypes, constructorArgs).newInstance(constructorArgs);
+  }
+
+  private ObjectConstructor getConstructor(Class<?> type, List<Class<?>> constructorArgTypes,
+      List<Object> constructorArgs) {
+    Map<Class<?>, Map<List<Class<?>>, ObjectConstructor>> cache = constructors;
+    if (cache == null) {
+      // 反序列化后缓存为空，重新创建即可
+      cache = new ConcurrentHashMap<>();
+      constructors = cache;
+    }
+    final Map<List<Class<?>>, ObjectConstructor> typeConstructors = MapUtil.computeIfAbsent(cache, type,
+        k -> new ConcurrentHashMap<>());
+    ObjectConstructor objectConstructor = typeConstructors.get(constructorArgTypes);
+    if (objectConstructor == null) {
+      objectConstructor = ObjectConstructor.forParameterTypes(type, constructorArgTypes, constructorArgs);
+      typeConstructors.putIfAbsent(objectConstructor.getParameterTypes(), objectConstructor);
     }
+    return objectConstructor;
   }
 
   protected Class<?> resolveInterface(Class<?> type) {
@@ -0,0 +1,146 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.factory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * A constructor resolved once and invoked through a method handle, so creating an object, like a result object for
+ * every row, does not look up the constructor and check its accessibility each time.
+ * <p>
+ * Instances are not cached here; callers keep the constructors they reuse, as {@link DefaultObjectFactory} does, so no
+ * static cache holds on to the instantiated types or to the class loader of MyBatis.
+ *
+ * @since 3.5.17
+ */
+public final class ObjectConstructor {
+
+  private static final Object[] NO_ARGUMENTS = {};
+
+  private final Class<?> type;
+  private final List<Class<?>> parameterTypes;
+  private final MethodHandle handle;
+
+  private ObjectConstructor(Constructor<?> constructor) throws IllegalAccessException {
+    this.type = constructor.getDeclaringClass();
+    this.parameterTypes = Collections.unmodifiableList(Arrays.asList(constructor.getParameterTypes()));
+    MethodHandle unreflected;
+    try {
+      unreflected = MethodHandles.lookup().unreflectConstructor(constructor);
+    } catch (IllegalAccessException e) {
+      if (!Reflector.canControlMemberAccessible()) {
+        throw e;
+      }
+      constructor.setAccessible(true);
+      unreflected = MethodHandles.lookup().unreflectConstructor(constructor);
+    }
+    this.handle = unreflected.asSpreader(Object[].class, parameterTypes.size())
+        .asType(MethodType.methodType(Object.class, Object[].class));
+  }
+
+  /**
+   * Looks up the constructor of a class taking the given parameter types.
+   *
+   * @param type
+   *          the class to instantiate
+   * @param parameterTypes
+   *          the exact parameter types of the constructor
+   *
+   * @return the constructor
+   *
+   * @throws ReflectionException
+   *           if the class has no such constructor or it cannot be accessed
+   */
+  public static ObjectConstructor forParameterTypes(Class<?> type, List<Class<?>> parameterTypes) {
+    return forParameterTypes(type, parameterTypes, null);
+  }
+
+  static ObjectConstructor forParameterTypes(Class<?> type, List<Class<?>> parameterTypes, List<Object> args) {
+    try {
+      return new ObjectConstructor(type.getDeclaredConstructor(parameterTypes.toArray(new Class[0])));
+    } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      throw newInstantiationException(type, parameterTypes, args, e);
+    }
+  }
+
+  /**
+   * Prepares a constructor that was already looked up.
+   *
+   * @param constructor
+   *          the constructor
+   *
+   * @return the constructor
+   *
+   * @throws ReflectionException
+   *           if the constructor cannot be accessed
+   */
+  public static ObjectConstructor forConstructor(Constructor<?> constructor) {
+    try {
+      return new ObjectConstructor(constructor);
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw newInstantiationException(constructor.getDeclaringClass(), Arrays.asList(constructor.getParameterTypes()),
+          null, e);
+    }
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public List<Class<?>> getParameterTypes() {
+    return parameterTypes;
+  }
+
+  /**
+   * Creates an object with this constructor.
+   *
+   * @param args
+   *          the arguments, one for each parameter type
+   *
+   * @return the new object
+   *
+   * @throws ReflectionException
+   *           if the arguments do not match the parameter types or the constructor fails
+   */
+  public Object newInstance(List<Object> args) {
+    try {
+      return handle.invokeExact(args.isEmpty() ? NO_ARGUMENTS : args.toArray());
+    } catch (Throwable t) {
+      throw newInstantiationException(type, parameterTypes, args, t);
+    }
+  }
+
+  private static ReflectionException newInstantiationException(Class<?> type, List<Class<?>> parameterTypes,
+      List<Object> args, Throwable cause) {
+    final String argTypes = parameterTypes.stream().map(Class::getSimpleName).collect(Collectors.joining(","));
+    final String argValues = Optional.ofNullable(args).orElseGet(Collections::emptyList).stream().map(String::valueOf)
+        .collect(Collectors.joining(","));
+    return new ReflectionException("Error instantiating " + type + " with invalid types (" + argTypes + ") or values ("
+        + argValues + "). Cause: " + cause, cause);
+  }
+
+}
@@ -0,0 +1,161 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A getter or setter invoked through a function generated by {@link LambdaMetafactory}, which the JIT can inline like a
+ * direct call, instead of {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * The function is generated on the first invocation, so that the many getters and setters a {@code Reflector} finds but
+ * never calls do not cost a hidden class each. If it cannot be generated, the method is invoked by reflection.
+ * <p>
+ * It behaves like a {@link MethodInvoker}: a value of the wrong type is rejected with an
+ * {@link IllegalArgumentException} and an exception thrown by the method is wrapped in an
+ * {@link InvocationTargetException}.
+ *
+ * @since 3.5.17
+ */
+public class LambdaMethodInvoker extends MethodInvoker {
+
+  private static final Log log = LogFactory.getLog(LambdaMethodInvoker.class);
+
+  private static final Object REFLECTIVE = new Object();
+
+  private final Method method;
+  private final MethodHandles.Lookup lookup;
+  private final Class<?> declaringClass;
+  private final Class<?> parameterType;
+  // the generated getter or setter, or REFLECTIVE once it failed to be generated
+  private volatile Object function;
+
+  private LambdaMethodInvoker(Method method, MethodHandles.Lookup lookup) {
+    super(method);
+    this.method = method;
+    this.lookup = lookup;
+    this.declaringClass = method.getDeclaringClass();
+    this.parameterType = method.getParameterCount() == 0 ? null : MethodType.methodType(getType()).wrap().returnType();
+  }
+
+  /**
+   * Creates an invoker for a getter (no parameter) or a setter (one parameter).
+   *
+   * @param method
+   *          the getter or setter
+   *
+   * @return a lambda based invoker, or a reflective {@link MethodInvoker} if the method cannot be accessed through a
+   *         private lookup of its class, like a method of a JDK class or of a class in a module that is not open
+   */
+  public static MethodInvoker forMethod(Method method) {
+    final int parameterCount = method.getParameterCount();
+    if (Modifier.isStatic(method.getModifiers()) || parameterCount > 1
+        || parameterCount == 0 && void.class.equals(method.getReturnType())) {
+      return new MethodInvoker(method);
+    }
+    try {
+      return new LambdaMethodInvoker(method,
+          MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()));
+    } catch (IllegalAccessException | SecurityException e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Invoking " + method + " by reflection, its class is not accessible.  Cause: " + e);
+      }
+      return new MethodInvoker(method);
+    }
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    Object function = this.function;
+    if (function == null) {
+      // racing threads may both generate the function, which is harmless
+      function = generateFunction();
+      this.function = function;
+    }
+    if (function == REFLECTIVE) {
+      return super.invoke(target, args);
+    }
+    if (!declaringClass.isInstance(target)) {
+      throw new IllegalArgumentException("object is not an instance of declaring class");
+    }
+    if (parameterType == null) {
+      try {
+        return asGetter(function).apply(target);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
+    if (args == null || args.length != 1) {
+      throw new IllegalArgumentException("wrong number of arguments");
+    }
+    final Object value = args[0];
+    if (value == null ? getType().isPrimitive() : !parameterType.isInstance(value)) {
+      throw new IllegalArgumentException("argument type mismatch");
+    }
+    try {
+      asSetter(function).accept(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+    return null;
+  }
+
+  private Object generateFunction() {
+    try {
+      final MethodHandle handle = lookup.unreflect(method);
+      if (parameterType == null) {
+        final CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class), handle,
+            MethodType.methodType(method.getReturnType(), declaringClass).wrap());
+        return callSite.getTarget().invoke();
+      }
+      final CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class), handle,
+          MethodType.methodType(void.class, declaringClass, method.getParameterTypes()[0]).wrap()
+              .changeReturnType(void.class));
+      return callSite.getTarget().invoke();
+    } catch (Throwable t) {
+      // not supported by the lambda metafactory
+      if (log.isDebugEnabled()) {
+        log.debug("Invoking " + method + " by reflection, no lambda could be generated for it.  Cause: " + t);
+      }
+      return REFLECTIVE;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> asGetter(Object function) {
+    return (Function<Object, Object>) function;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> asSetter(Object function) {
+    return (BiConsumer<Object, Object>) function;
+  }
+
+}
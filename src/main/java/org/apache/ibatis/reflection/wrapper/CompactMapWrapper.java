@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.wrapper;
+
+import org.apache.ibatis.executor.result.CompactMap;
+import org.apache.ibatis.reflection.MetaObject;
+
+/**
+ * The wrapper of a {@link CompactMap} result. The keys of its schema are plain property names, so they are written by
+ * their index without being parsed as a property expression. Any other name is handled like in a {@link MapWrapper}.
+ *
+ * @since 3.5.17
+ */
+public class CompactMapWrapper extends MapWrapper {
+
+  private final CompactMap compactMap;
+
+  public CompactMapWrapper(MetaObject metaObject, CompactMap map) {
+    super(metaObject, map);
+    this.compactMap = map;
+  }
+
+  /**
+   * Sets the value of a key of the schema of the map.
+   *
+   * @param name
+   *          the property name
+   * @param value
+   *          the value
+   *
+   * @return {@code false} if the name is not a key of the schema and was not set
+   */
+  public boolean setSchemaValue(String name, Object value) {
+    final int index = compactMap.getSchema().indexOf(name);
+    if (index < 0) {
+      return false;
+    }
+    compactMap.putAt(index, value);
+    return true;
+  }
+
+}
@@ -0,0 +1,637 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ognl.MapPropertyAccessor;
+import ognl.ObjectPropertyAccessor;
+import ognl.OgnlOps;
+import ognl.OgnlRuntime;
+import ognl.PropertyAccessor;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * An OGNL expression of the subset commonly used in dynamic SQL, evaluated without creating an OGNL context.
+ * <p>
+ * The subset is made of {@code null}, boolean, integer, decimal and string literals, property paths like
+ * {@code user.name}, the {@code size()}, {@code isEmpty()}, {@code length()} and {@code trim()} methods of collections,
+ * maps and strings, the comparison operators, and the {@code !}, {@code and} and {@code or} operators. The operators
+ * and the conversions are the ones of {@link OgnlOps}, and the properties are read like OGNL does, so the values are
+ * the same as OGNL's.
+ * <p>
+ * An expression is evaluated by OGNL instead when it is not part of the subset, or when evaluating it meets a case OGNL
+ * handles differently, like a {@code null} source of a property, a property read from a field, a property accessor
+ * registered for another type, or any exception. OGNL then reports the error as before.
+ *
+ * @since 3.5.17
+ */
+final class CompiledExpression {
+
+  /**
+   * Returned by {@link #getValue(Object)} when the expression has to be evaluated by OGNL.
+   */
+  static final Object NOT_EVALUATED = new Object();
+
+  private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList("and", "or", "not", "in", "instanceof", "new",
+      "true", "false", "null", "eq", "neq", "lt", "lte", "gt", "gte", "bor", "xor", "band", "shl", "shr", "ushr"));
+  private static final boolean CAN_ACCESS_MEMBERS = Reflector.canControlMemberAccessible();
+  private static final Object[] NO_ARGUMENTS = {};
+
+  private final Node root;
+
+  private CompiledExpression(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Compiles an expression.
+   *
+   * @param expression
+   *          the OGNL expression
+   *
+   * @return the compiled expression, or {@code null} if the expression is not part of the subset
+   */
+  static CompiledExpression compile(String expression) {
+    Node root = new Parser(expression).parse();
+    return root == null ? null : new CompiledExpression(root);
+  }
+
+  /**
+   * Evaluates the expression.
+   *
+   * @param root
+   *          the root object of the property paths
+   *
+   * @return the value, or {@link #NOT_EVALUATED} if the expression has to be evaluated by OGNL
+   */
+  Object getValue(Object root) {
+    try {
+      return this.root.evaluate(root);
+    } catch (RuntimeException e) {
+      // a case of the subset evaluated differently, or an error for OGNL to report
+      return NOT_EVALUATED;
+    }
+  }
+
+  private abstract static class Node {
+    abstract Object evaluate(Object root);
+  }
+
+  private static final class Literal extends Node {
+
+    private final Object value;
+
+    Literal(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    Object evaluate(Object root) {
+      return value;
+    }
+  }
+
+  private static final class Not extends Node {
+
+    private final Node operand;
+
+    Not(Node operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    Object evaluate(Object root) {
+      return OgnlOps.booleanValue(operand.evaluate(root)) ? Boolean.FALSE : Boolean.TRUE;
+    }
+  }
+
+  /**
+   * {@code and} and {@code or}, which return the last operand evaluated like OGNL, not a boolean.
+   */
+  private static final class Logical extends Node {
+
+    private final Node[] operands;
+    private final boolean and;
+
+    Logical(List<Node> operands, boolean and) {
+      this.operands = operands.toArray(new Node[0]);
+      this.and = and;
+    }
+
+    @Override
+    Object evaluate(Object root) {
+      Object result = null;
+      for (int i = 0; i < operands.length; i++) {
+        result = operands[i].evaluate(root);
+        if (i < operands.length - 1 && OgnlOps.booleanValue(result) != and) {
+          break;
+        }
+      }
+      return result;
+    }
+  }
+
+  private enum Operator {
+    EQ, NEQ, LT, GT, LTE, GTE
+  }
+
+  private static final class Comparison extends Node {
+
+    private final Operator operator;
+    private final Node left;
+    private final Node right;
+
+    Comparison(Operator operator, Node left, Node right) {
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object evaluate(Object root) {
+      Object v1 = left.evaluate(root);
+      Object v2 = right.evaluate(root);
+      boolean result;
+      switch (operator) {
+        case EQ:
+          result = OgnlOps.equal(v1, v2);
+          break;
+        case NEQ:
+          result = !OgnlOps.equal(v1, v2);
+          break;
+        case LT:
+          result = OgnlOps.less(v1, v2);
+          break;
+        case GT:
+          result = OgnlOps.greater(v1, v2);
+          break;
+        case LTE:
+          result = !OgnlOps.greater(v1, v2);
+          break;
+        default:
+          result = !OgnlOps.less(v1, v2);
+          break;
+      }
+      return result ? Boolean.TRUE : Boolean.FALSE;
+    }
+  }
+
+  /**
+   * A property path, each segment being a property or a method without arguments.
+   */
+  private static final class Chain extends Node {
+
+    private final Segment[] segments;
+
+    Chain(List<Segment> segments) {
+      this.segments = segments.toArray(new Segment[0]);
+    }
+
+    @Override
+    Object evaluate(Object root) {
+      Object value = root;
+      for (Segment segment : segments) {
+        if (value == null || value instanceof Class) {
+          throw NotEvaluatedException.INSTANCE;
+        }
+        value = segment.getValue(value);
+      }
+      return value;
+    }
+  }
+
+  private abstract static class Segment {
+
+    final String name;
+
+    Segment(String name) {
+      this.name = name;
+    }
+
+    abstract Object getValue(Object source);
+  }
+
+  private static final class MethodSegment extends Segment {
+
+    MethodSegment(String name) {
+      super(name);
+    }
+
+    @Override
+    Object getValue(Object source) {
+      if (source instanceof Collection) {
+        Collection<?> collection = (Collection<?>) source;
+        if ("size".equals(name)) {
+          return collection.size();
+        }
+        if ("isEmpty".equals(name)) {
+          return collection.isEmpty();
+        }
+      } else if (source instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) source;
+        if ("size".equals(name)) {
+          return map.size();
+        }
+        if ("isEmpty".equals(name)) {
+          return map.isEmpty();
+        }
+      } else if (source instanceof String) {
+        String string = (String) source;
+        if ("length".equals(name)) {
+          return string.length();
+        }
+        if ("isEmpty".equals(name)) {
+          return string.isEmpty();
+        }
+        if ("trim".equals(name)) {
+          return string.trim();
+        }
+      }
+      throw NotEvaluatedException.INSTANCE;
+    }
+  }
+
+  private static final class PropertySegment extends Segment {
+
+    // inline cache of the way the last source type was read
+    private volatile Binding binding;
+
+    PropertySegment(String name) {
+      super(name);
+    }
+
+    @Override
+    Object getValue(Object source) {
+      Binding binding = this.binding;
+      if (binding == null || binding.type != source.getClass()) {
+        binding = bind(source.getClass());
+        this.binding = binding;
+      }
+      try {
+        switch (binding.kind) {
+          case CONTEXT:
+            return binding.accessor.getProperty(null, source, name);
+          case MAP:
+            return getMapProperty((Map<?, ?>) source);
+          case GETTER:
+            return OgnlRuntime.invokeMethod(source, binding.getter, NO_ARGUMENTS);
+          default:
+            throw NotEvaluatedException.INSTANCE;
+        }
+      } catch (NotEvaluatedException e) {
+        throw e;
+      } catch (Exception e) {
+        // let OGNL report it
+        throw NotEvaluatedException.INSTANCE;
+      }
+    }
+
+    private Object getMapProperty(Map<?, ?> map) {
+      // the names MapPropertyAccessor reads from the map itself
+      switch (name) {
+        case "size":
+          return map.size();
+        case "keys":
+        case "keySet":
+          return map.keySet();
+        case "values":
+          return map.values();
+        case "isEmpty":
+          return map.isEmpty() ? Boolean.TRUE : Boolean.FALSE;
+        default:
+          return map.get(name);
+      }
+    }
+
+    private Binding bind(Class<?> type) {
+      try {
+        PropertyAccessor accessor = OgnlRuntime.getPropertyAccessor(type);
+        if (accessor instanceof DynamicContext.ContextAccessor) {
+          return new Binding(type, BindingKind.CONTEXT, accessor, null);
+        }
+        if (accessor != null && accessor.getClass() == MapPropertyAccessor.class) {
+          return new Binding(type, BindingKind.MAP, accessor, null);
+        }
+        if (accessor != null && accessor.getClass() == ObjectPropertyAccessor.class && CAN_ACCESS_MEMBERS) {
+          Method getter = OgnlRuntime.getGetMethod(type, name);
+          if (getter != null) {
+            return new Binding(type, BindingKind.GETTER, accessor, getter);
+          }
+        }
+      } catch (Exception e) {
+        // fall through
+      }
+      return new Binding(type, BindingKind.UNSUPPORTED, null, null);
+    }
+  }
+
+  private enum BindingKind {
+    CONTEXT, MAP, GETTER, UNSUPPORTED
+  }
+
+  private static final class Binding {
+
+    private final Class<?> type;
+    private final BindingKind kind;
+    private final PropertyAccessor accessor;
+    private final Method getter;
+
+    Binding(Class<?> type, BindingKind kind, PropertyAccessor accessor, Method getter) {
+      this.type = type;
+      this.kind = kind;
+      this.accessor = accessor;
+      this.getter = getter;
+    }
+  }
+
+  private static final class NotEvaluatedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+    static final NotEvaluatedException INSTANCE = new NotEvaluatedException();
+
+    private NotEvaluatedException() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * A recursive descent parser following the precedence of the OGNL grammar. It gives up, returning {@code null}, on
+   * anything outside the subset.
+   */
+  private static final class Parser {
+
+    private final String expression;
+    private int position;
+
+    Parser(String expression) {
+      this.expression = expression;
+    }
+
+    Node parse() {
+      try {
+        Node node = parseOr();
+        skipWhitespaces();
+        return position == expression.length() ? node : null;
+      } catch (NotEvaluatedException e) {
+        return null;
+      }
+    }
+
+    private Node parseOr() {
+      List<Node> operands = new ArrayList<>();
+      operands.add(parseAnd());
+      while (accept("||") || acceptKeyword("or")) {
+        operands.add(parseAnd());
+      }
+      return operands.size() == 1 ? operands.get(0) : new Logical(operands, false);
+    }
+
+    private Node parseAnd() {
+      List<Node> operands = new ArrayList<>();
+      operands.add(parseEquality());
+      while (accept("&&") || acceptKeyword("and")) {
+        operands.add(parseEquality());
+      }
+      return operands.size() == 1 ? operands.get(0) : new Logical(operands, true);
+    }
+
+    private Node parseEquality() {
+      Node node = parseRelational();
+      while (true) {
+        if (accept("==") || acceptKeyword("eq")) {
+          node = new Comparison(Operator.EQ, node, parseRelational());
+        } else if (accept("!=") || acceptKeyword("neq")) {
+          node = new Comparison(Operator.NEQ, node, parseRelational());
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node parseRelational() {
+      Node node = parseUnary();
+      while (true) {
+        if (accept("<=") || acceptKeyword("lte")) {
+          node = new Comparison(Operator.LTE, node, parseUnary());
+        } else if (accept(">=") || acceptKeyword("gte")) {
+          node = new Comparison(Operator.GTE, node, parseUnary());
+        } else if (accept("<") || acceptKeyword("lt")) {
+          node = new Comparison(Operator.LT, node, parseUnary());
+        } else if (accept(">") || acceptKeyword("gt")) {
+          node = new Comparison(Operator.GT, node, parseUnary());
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node parseUnary() {
+      skipWhitespaces();
+      if (peek() == '!' && peek(1) != '=') {
+        position++;
+        return new Not(parseUnary());
+      }
+      if (acceptKeyword("not")) {
+        return new Not(parseUnary());
+      }
+      return parsePrimary();
+    }
+
+    private Node parsePrimary() {
+      skipWhitespaces();
+      char c = peek();
+      if (c == '(') {
+        position++;
+        Node node = parseOr();
+        expect(')');
+        return node;
+      }
+      if (c == '\'' || c == '"') {
+        return parseString(c);
+      }
+      if (c >= '0' && c <= '9') {
+        return parseNumber();
+      }
+      if (Character.isJavaIdentifierStart(c)) {
+        return parseChain();
+      }
+      throw NotEvaluatedException.INSTANCE;
+    }
+
+    private Node parseString(char quote) {
+      int end = expression.indexOf(quote, position + 1);
+      if (end == -1) {
+        throw NotEvaluatedException.INSTANCE;
+      }
+      String value = expression.substring(position + 1, end);
+      if (value.indexOf('\\') != -1) {
+        // escapes
+        throw NotEvaluatedException.INSTANCE;
+      }
+      position = end + 1;
+      // a single character between single quotes is a character literal
+      return new Literal(quote == '\'' && value.length() == 1 ? (Object) value.charAt(0) : value);
+    }
+
+    private Node parseNumber() {
+      int start = position;
+      while (Character.isDigit(peek())) {
+        position++;
+      }
+      boolean decimal = false;
+      if (peek() == '.' && Character.isDigit(peek(1))) {
+        decimal = true;
+        position++;
+        while (Character.isDigit(peek())) {
+          position++;
+        }
+      }
+      if (isIdentifierPart(peek()) || peek() == '.') {
+        // suffixes, exponents, hexadecimals
+        throw NotEvaluatedException.INSTANCE;
+      }
+      String literal = expression.substring(start, position);
+      if (decimal) {
+        return new Literal(Double.valueOf(literal));
+      }
+      if (literal.length() > 1 && literal.charAt(0) == '0') {
+        // octal
+        throw NotEvaluatedException.INSTANCE;
+      }
+      try {
+        return new Literal(Integer.valueOf(literal));
+      } catch (NumberFormatException e) {
+        throw NotEvaluatedException.INSTANCE;
+      }
+    }
+
+    private Node parseChain() {
+      String identifier = parseIdentifier();
+      switch (identifier) {
+        case "null":
+          return new Literal(null);
+        case "true":
+          return new Literal(Boolean.TRUE);
+        case "false":
+          return new Literal(Boolean.FALSE);
+        default:
+          break;
+      }
+      if (KEYWORDS.contains(identifier)) {
+        throw NotEvaluatedException.INSTANCE;
+      }
+      List<Segment> segments = new ArrayList<>();
+      segments.add(new PropertySegment(identifier));
+      while (true) {
+        skipWhitespaces();
+        if (peek() == '(' || peek() == '[') {
+          throw NotEvaluatedException.INSTANCE;
+        }
+        if (peek() != '.') {
+          return new Chain(segments);
+        }
+        position++;
+        skipWhitespaces();
+        String name = parseIdentifier();
+        if (KEYWORDS.contains(name)) {
+          throw NotEvaluatedException.INSTANCE;
+        }
+        skipWhitespaces();
+        if (peek() == '(') {
+          position++;
+          expect(')');
+          segments.add(new MethodSegment(name));
+        } else {
+          segments.add(new PropertySegment(name));
+        }
+      }
+    }
+
+    private String parseIdentifier() {
+      int start = position;
+      if (!Character.isJavaIdentifierStart(peek())) {
+        throw NotEvaluatedException.INSTANCE;
+      }
+      position++;
+      while (isIdentifierPart(peek())) {
+        position++;
+      }
+      return expression.substring(start, position);
+    }
+
+    private boolean accept(String operator) {
+      skipWhitespaces();
+      if (!expression.startsWith(operator, position)) {
+        return false;
+      }
+      int next = position + operator.length();
+      if (next < expression.length() && "=<>&|".indexOf(expression.charAt(next)) != -1) {
+        // a longer operator
+        return false;
+      }
+      position = next;
+      return true;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+      skipWhitespaces();
+      int next = position + keyword.length();
+      if (!expression.startsWith(keyword, position) || isIdentifierPart(peek(keyword.length()))) {
+        return false;
+      }
+      position = next;
+      return true;
+    }
+
+    private void expect(char c) {
+      skipWhitespaces();
+      if (peek() != c) {
+        throw NotEvaluatedException.INSTANCE;
+      }
+      position++;
+    }
+
+    private void skipWhitespaces() {
+      while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+        position++;
+      }
+    }
+
+    private static boolean isIdentifierPart(char c) {
+      // the end of the expression is peeked as \0, which is an ignorable identifier part
+      return c != '\0' && Character.isJavaIdentifierPart(c);
+    }
+
+    private char peek() {
+      return peek(0);
+    }
+
+    private char peek(int offset) {
+      int index = position + offset;
+      return index < expression.length() ? expression.charAt(index) : '\0';
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.apache.ibatis.scripting.xmltags;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import ognl.Ognl;
@@ -26,6 +27,8 @@ import org.apache.ibatis.builder.BuilderException;
 
 /**
  * Caches OGNL parsed expressions.
+ * <p>
+ * Expressions of the subset supported by {@link CompiledExpression} are evaluated without OGNL.
  *
  * @author Eduardo Macarron
  *
@@ -36,12 +39,20 @@ public final class OgnlCache {
   private static final OgnlMemberAccess MEMBER_ACCESS = new OgnlMemberAccess();
   private static final OgnlClassResolver CLASS_RESOLVER = new OgnlClassResolver();
   private static final Map<String, Object> expressionCache = new ConcurrentHashMap<>();
+  private static final Map<String, Optional<CompiledExpression>> compiledExpressionCache = new ConcurrentHashMap<>();
 
   private OgnlCache() {
     // Prevent Instantiation of Static Class
   }
 
   public static Object getValue(String expression, Object root) {
+    CompiledExpression compiledExpression = compileExpression(expression);
+    if (compiledExpression != null) {
+      Object value = compiledExpression.getValue(root);
+      if (value != CompiledExpression.NOT_EVALUATED) {
+        return value;
+      }
+    }
     try {
       OgnlContext context = Ognl.createDefaultContext(root, MEMBER_ACCESS, CLASS_RESOLVER, null);
       return Ognl.getValue(parseExpression(expression), context, root);
@@ -59,4 +70,13 @@ public final class OgnlCache {
     return node;
   }
 
+  private static CompiledExpression compileExpression(String expression) {
+    Optional<CompiledExpression> compiledExpression = compiledExpressionCache.get(expression);
+    if (compiledExpression == null) {
+      compiledExpression = Optional.ofNullable(CompiledExpression.compile(expression));
+      compiledExpressionCache.put(expression, compiledExpression);
+    }
+    return compiledExpression.orElse(null);
+  }
+
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -17,15 +17,25 @@ package org.apache.ibatis.session;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
 
@@ -53,7 +63,11 @@ import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
+import org.apache.ibatis.executor.metrics.StatementExecutionListener;
+import org.apache.ibatis.executor.metrics.StatementLatencyHistograms;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.ColumnLayout;
+import org.apache.ibatis.executor.resultset.CompiledRowMapper;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.executor.statement.RoutingStatementHandler;
@@ -72,7 +86,9 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMap;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.apache.ibatis.parsing.XNode;
@@ -102,14 +118,21 @@ import org.apache.ibatis.type.TypeHandlerRegistry;
  */
 public class Configuration {
 
+  private static final int MAX_COLUMN_LAYOUTS = 1024;
+  private static final int MAX_COMPILED_ROW_MAPPERS = 1024;
+
   protected Environment environment;
 
   protected boolean safeRowBoundsEnabled;
   protected boolean safeResultHandlerEnabled = true;
+  protected boolean nestedResultStreamingEnabled;
+  protected boolean compactMapResultsEnabled;
+  protected boolean sqlTemplateCacheEnabled;
   protected boolean mapUnderscoreToCamelCase;
   protected boolean aggressiveLazyLoading;
   protected boolean useGeneratedKeys;
   protected boolean useColumnLabel = true;
+  protected boolean useColumnIndex;
   protected boolean cacheEnabled = true;
   protected boolean callSettersOnNulls;
   protected boolean useActualParamName = true;
@@ -128,6 +151,15 @@ public class Configuration {
       Arrays.asList("equals", "clone", "hashCode", "toString"));
   protected Integer defaultStatementTimeout;
   protected Integer defaultFetchSize;
+  protected int nestedQueryParallelism = 1;
+  protected int defaultBatchFetchSize;
+  protected int reuseStatementCacheSize;
+  protected Integer slowQueryThreshold;
+  protected boolean statementLatencyHistogramsEnabled;
+  protected boolean compiledRowMappersEnabled;
+  protected int resultMappingParallelism = 1;
+  protected volatile ExecutorService resultMappingExecutorService;
+  protected volatile ExecutorService nestedQueryExecutorService;
   protected ResultSetType defaultResultSetType;
   protected ExecutorType defaultExecutorType = ExecutorType.SIMPLE;
   protected AutoMappingBehavior autoMappingBehavior = AutoMappingBehavior.PARTIAL;
@@ -151,6 +183,10 @@ public class Configuration {
 
   protected final MapperRegistry mapperRegistry = new MapperRegistry(this);
   protected final InterceptorChain interceptorChain = new InterceptorChain();
+  protected final List<StatementExecutionListener> statementExecutionListeners = new CopyOnWriteArrayList<>();
+  protected final StatementLatencyHistograms statementLatencyHistograms = new StatementLatencyHistograms();
+  protected final Map<String, CompiledRowMapper> compiledRowMappers = new ConcurrentHashMap<>();
+  protected final Map<String, ColumnLayout> columnLayouts = new ConcurrentHashMap<>();
   protected final TypeHandlerRegistry typeHandlerRegistry = new TypeHandlerRegistry(this);
   protected final TypeAliasRegistry typeAliasRegistry = new TypeAliasRegistry();
   protected final LanguageDriverRegistry languageRegistry = new LanguageDriverRegistry();
@@ -175,6 +211,10 @@ public class Configuration {
   private final ReentrantLock incompleteCacheRefsLock = new ReentrantLock();
   private final ReentrantLock incompleteStatementsLock = new ReentrantLock();
   private final ReentrantLock incompleteMethodsLock = new ReentrantLock();
+  private final ReentrantLock nestedQueryExecutorServiceLock = new ReentrantLock();
+  private ExecutorService defaultNestedQueryExecutorService;
+  private final ReentrantLock resultMappingExecutorServiceLock = new ReentrantLock();
+  private ExecutorService defaultResultMappingExecutorService;
 
   /*
    * A map holds cache-ref relationship. The key is the namespace that references a cache bound to another namespace and
@@ -341,6 +381,429 @@ public class Configuration {
     this.argNameBasedConstructorAutoMapping = argNameBasedConstructorAutoMapping;
   }
 
+  /**
+   * Returns the maximum number of eager nested select queries that are executed concurrently while mapping a result
+   * set.
+   * <p>
+   * Default is {@code 1}, which executes nested queries sequentially on the session's own connection.
+   *
+   * @return the nested query parallelism
+   *
+   * @since 3.5.17
+   */
+  public int getNestedQueryParallelism() {
+    return nestedQueryParallelism;
+  }
+
+  /**
+   * Sets the maximum number of eager nested select queries that are executed concurrently while mapping a result set.
+   * <p>
+   * When greater than {@code 1}, the keys of eager nested selects are collected over the whole result set and the
+   * queries are run on a bounded pool, each on its own connection obtained from the environment's data source. Such
+   * queries do not see uncommitted changes made by the calling session.
+   *
+   * @param nestedQueryParallelism
+   *          the nested query parallelism
+   *
+   * @since 3.5.17
+   */
+  public void setNestedQueryParallelism(int nestedQueryParallelism) {
+    this.nestedQueryParallelism = nestedQueryParallelism;
+  }
+
+  /**
+   * Returns the executor service used to run eager nested select queries in parallel.
+   * <p>
+   * When no executor service was set and {@link #getNestedQueryParallelism()} is greater than {@code 1}, a pool of
+   * daemon threads is created on first use. Its threads end after being idle for a minute, and the pool is released by
+   * {@link #shutdownNestedQueryExecutorService()}.
+   *
+   * @return the executor service, or {@code null} if nested queries are executed sequentially
+   *
+   * @since 3.5.17
+   */
+  public ExecutorService getNestedQueryExecutorService() {
+    if (nestedQueryExecutorService == null && nestedQueryParallelism > 1) {
+      nestedQueryExecutorServiceLock.lock();
+      try {
+        if (nestedQueryExecutorService == null) {
+          ThreadPoolExecutor executorService = new ThreadPoolExecutor(nestedQueryParallelism, nestedQueryParallelism, 1,
+              TimeUnit.MINUTES, new LinkedBlockingQueue<>(), new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                  Thread thread = new Thread(runnable, "mybatis-nested-query-" + threadNumber.incrementAndGet());
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+          executorService.allowCoreThreadTimeOut(true);
+          defaultNestedQueryExecutorService = executorService;
+          nestedQueryExecutorService = executorService;
+        }
+      } finally {
+        nestedQueryExecutorServiceLock.unlock();
+      }
+    }
+    return nestedQueryExecutorService;
+  }
+
+  /**
+   * Sets the executor service used to run eager nested select queries in parallel. The caller owns the executor service
+   * and is responsible for shutting it down.
+   *
+   * @param nestedQueryExecutorService
+   *          the executor service
+   *
+   * @since 3.5.17
+   */
+  public void setNestedQueryExecutorService(ExecutorService nestedQueryExecutorService) {
+    this.nestedQueryExecutorService = nestedQueryExecutorService;
+  }
+
+  /**
+   * Shuts down the pool created by {@link #getNestedQueryExecutorService()}, letting the queries already submitted
+   * complete. A new pool is created if nested queries are executed in parallel again. An executor service set by
+   * {@link #setNestedQueryExecutorService(ExecutorService)} is left to its owner.
+   *
+   * @since 3.5.17
+   */
+  public void shutdownNestedQueryExecutorService() {
+    nestedQueryExecutorServiceLock.lock();
+    try {
+      if (defaultNestedQueryExecutorService != null) {
+        defaultNestedQueryExecutorService.shutdown();
+        if (nestedQueryExecutorService == defaultNestedQueryExecutorService) {
+          nestedQueryExecutorService = null;
+        }
+        defaultNestedQueryExecutorService = null;
+      }
+    } finally {
+      nestedQueryExecutorServiceLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the maximum number of parent keys that are loaded with a single query by nested selects declaring a
+   * {@code foreignColumn}.
+   * <p>
+   * Default is {@code 0}, which disables batch fetching.
+   *
+   * @return the default batch fetch size
+   *
+   * @since 3.5.17
+   */
+  public int getDefaultBatchFetchSize() {
+    return defaultBatchFetchSize;
+  }
+
+  /**
+   * Sets the maximum number of parent keys that are loaded with a single query by nested selects declaring a
+   * {@code foreignColumn}.
+   * <p>
+   * When greater than {@code 0}, such nested selects receive a list of keys as parameter and the returned rows are
+   * matched to their parents by the foreign column. The keys of up to this many parent rows are collected, both for
+   * eager and lazy loading, and loaded with a single query. Otherwise, they receive the key of a single parent row,
+   * like any other nested select.
+   *
+   * @param defaultBatchFetchSize
+   *          the default batch fetch size
+   *
+   * @since 3.5.17
+   */
+  public void setDefaultBatchFetchSize(int defaultBatchFetchSize) {
+    this.defaultBatchFetchSize = defaultBatchFetchSize;
+  }
+
+  /**
+   * Gets the maximum number of prepared statements a {@link org.apache.ibatis.executor.ReuseExecutor} keeps open across
+   * commits and rollbacks.
+   * <p>
+   * Default is {@code 0}, which closes all reused statements on every commit and rollback.
+   *
+   * @return the reuse statement cache size
+   *
+   * @since 3.5.17
+   */
+  public int getReuseStatementCacheSize() {
+    return reuseStatementCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of prepared statements a {@link org.apache.ibatis.executor.ReuseExecutor} keeps open across
+   * commits and rollbacks.
+   * <p>
+   * When greater than {@code 0}, statements stay open for as long as the session holds the same connection and the
+   * least recently used ones are closed on commit or rollback once the limit is exceeded. All statements are closed
+   * when the session is closed or the connection changes.
+   *
+   * @param reuseStatementCacheSize
+   *          the reuse statement cache size
+   *
+   * @since 3.5.17
+   */
+  public void setReuseStatementCacheSize(int reuseStatementCacheSize) {
+    this.reuseStatementCacheSize = reuseStatementCacheSize;
+  }
+
+  /**
+   * Gets the execution time in milliseconds above which statements are logged as slow.
+   *
+   * @return the slow query threshold, or {@code null} if slow queries are not logged
+   *
+   * @since 3.5.17
+   */
+  public Integer getSlowQueryThreshold() {
+    return slowQueryThreshold;
+  }
+
+  /**
+   * Sets the execution time in milliseconds above which statements are logged as slow.
+   * <p>
+   * Slow statements are logged at WARN level by the statement logger, along with the time spent in each execution
+   * phase.
+   *
+   * @param slowQueryThreshold
+   *          the slow query threshold, {@code null} disables slow query logging
+   *
+   * @since 3.5.17
+   */
+  public void setSlowQueryThreshold(Integer slowQueryThreshold) {
+    this.slowQueryThreshold = slowQueryThreshold;
+  }
+
+  /**
+   * Gets whether the execution times of the statements are recorded in {@link #getStatementLatencyHistograms()}.
+   *
+   * @return {@code true} if the latency histograms are enabled
+   *
+   * @since 3.5.17
+   */
+  public boolean isStatementLatencyHistogramsEnabled() {
+    return statementLatencyHistogramsEnabled;
+  }
+
+  /**
+   * Sets whether the execution times of the statements are recorded in {@link #getStatementLatencyHistograms()}.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @param statementLatencyHistogramsEnabled
+   *          {@code true} to enable the latency histograms
+   *
+   * @since 3.5.17
+   */
+  public void setStatementLatencyHistogramsEnabled(boolean statementLatencyHistogramsEnabled) {
+    this.statementLatencyHistogramsEnabled = statementLatencyHistogramsEnabled;
+  }
+
+  /**
+   * Gets the per statement latency histograms.
+   *
+   * @return the latency histograms
+   *
+   * @since 3.5.17
+   */
+  public StatementLatencyHistograms getStatementLatencyHistograms() {
+    return statementLatencyHistograms;
+  }
+
+  /**
+   * Gets whether statement executions are instrumented, i.e. whether the latency histograms or the slow query log are
+   * enabled or any {@link StatementExecutionListener} is registered.
+   *
+   * @return {@code true} if statement executions are instrumented
+   *
+   * @since 3.5.17
+   */
+  public boolean isStatementExecutionInstrumented() {
+    return statementLatencyHistogramsEnabled || slowQueryThreshold != null || !statementExecutionListeners.isEmpty();
+  }
+
+  /**
+   * Gets whether simple result maps are mapped by compiled row mappers.
+   *
+   * @return {@code true} if compiled row mappers are enabled
+   *
+   * @since 3.5.17
+   */
+  public boolean isCompiledRowMappersEnabled() {
+    return compiledRowMappersEnabled;
+  }
+
+  /**
+   * Sets whether simple result maps are mapped by compiled row mappers.
+   * <p>
+   * When enabled, the mapping of a result map without constructor mappings, nested result maps or nested selects is
+   * resolved once per result set column layout into a {@link CompiledRowMapper} that reads the columns by index and
+   * calls the setters directly. Default is {@code false}.
+   *
+   * @param compiledRowMappersEnabled
+   *          {@code true} to enable compiled row mappers
+   *
+   * @since 3.5.17
+   */
+  public void setCompiledRowMappersEnabled(boolean compiledRowMappersEnabled) {
+    this.compiledRowMappersEnabled = compiledRowMappersEnabled;
+  }
+
+  /**
+   * Returns the number of threads that map the rows of a large result set into objects in parallel.
+   * <p>
+   * Default is {@code 1}, which maps the rows one by one on the calling thread.
+   *
+   * @return the result mapping parallelism
+   *
+   * @since 3.5.17
+   */
+  public int getResultMappingParallelism() {
+    return resultMappingParallelism;
+  }
+
+  /**
+   * Sets the number of threads that map the rows of a large result set into objects in parallel.
+   * <p>
+   * When greater than {@code 1} and {@link #isCompiledRowMappersEnabled() compiled row mappers} are enabled, the
+   * calling thread reads the column values of simple result maps that can be mapped by a {@link CompiledRowMapper} into
+   * batches, and the batches are turned into objects on a fork-join pool. The results and the {@code ResultHandler}
+   * callbacks keep the order of the rows. Result maps with a discriminator, and cursors, are still mapped one row at a
+   * time. The object factory must be thread-safe.
+   *
+   * @param resultMappingParallelism
+   *          the result mapping parallelism
+   *
+   * @since 3.5.17
+   */
+  public void setResultMappingParallelism(int resultMappingParallelism) {
+    this.resultMappingParallelism = resultMappingParallelism;
+  }
+
+  /**
+   * Returns the executor service used to map the rows of a result set in parallel.
+   * <p>
+   * When no executor service was set and {@link #getResultMappingParallelism()} is greater than {@code 1}, a fork-join
+   * pool of that parallelism is created on first use.
+   *
+   * @return the executor service, or {@code null} if rows are mapped sequentially
+   *
+   * @since 3.5.17
+   */
+  public ExecutorService getResultMappingExecutorService() {
+    if (resultMappingExecutorService == null && resultMappingParallelism > 1) {
+      resultMappingExecutorServiceLock.lock();
+      try {
+        if (resultMappingExecutorService == null) {
+          defaultResultMappingExecutorService = new ForkJoinPool(resultMappingParallelism);
+          resultMappingExecutorService = defaultResultMappingExecutorService;
+        }
+      } finally {
+        resultMappingExecutorServiceLock.unlock();
+      }
+    }
+    return resultMappingExecutorService;
+  }
+
+  /**
+   * Sets the executor service used to map the rows of a result set in parallel. The caller owns the executor service
+   * and is responsible for shutting it down.
+   *
+   * @param resultMappingExecutorService
+   *          the executor service
+   *
+   * @since 3.5.17
+   */
+  public void setResultMappingExecutorService(ExecutorService resultMappingExecutorService) {
+    this.resultMappingExecutorService = resultMappingExecutorService;
+  }
+
+  /**
+   * Shuts down the pool created by {@link #getResultMappingExecutorService()}, letting the rows already submitted be
+   * mapped. A new pool is created if rows are mapped in parallel again. An executor service set by
+   * {@link #setResultMappingExecutorService(ExecutorService)} is left to its owner.
+   *
+   * @since 3.5.17
+   */
+  public void shutdownResultMappingExecutorService() {
+    resultMappingExecutorServiceLock.lock();
+    try {
+      if (defaultResultMappingExecutorService != null) {
+        defaultResultMappingExecutorService.shutdown();
+        if (resultMappingExecutorService == defaultResultMappingExecutorService) {
+          resultMappingExecutorService = null;
+        }
+        defaultResultMappingExecutorService = null;
+      }
+    } finally {
+      resultMappingExecutorServiceLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the row mapper compiled for a result map and a result set column layout.
+   *
+   * @param key
+   *          the row mapper key, made of the result map id, the column prefix, the auto-mapping settings and the column
+   *          layout
+   *
+   * @return the compiled row mapper, or {@code null} if none is kept for this key
+   *
+   * @since 3.5.17
+   */
+  public CompiledRowMapper getCompiledRowMapper(String key) {
+    return compiledRowMappers.get(key);
+  }
+
+  /**
+   * Keeps a compiled row mapper for the next result sets mapped by the same result map with the same columns. Like the
+   * column layouts, row mappers stop being cached once {@value #MAX_COMPILED_ROW_MAPPERS} are kept, and the next result
+   * sets with other layouts are mapped by a row mapper compiled for each result set.
+   *
+   * @param key
+   *          the row mapper key
+   * @param rowMapper
+   *          the compiled row mapper
+   *
+   * @since 3.5.17
+   */
+  public void addCompiledRowMapper(String key, CompiledRowMapper rowMapper) {
+    if (compiledRowMappers.size() < MAX_COMPILED_ROW_MAPPERS) {
+      compiledRowMappers.putIfAbsent(key, rowMapper);
+    }
+  }
+
+  /**
+   * Gets the column layout kept for the columns of a result set.
+   *
+   * @param key
+   *          the layout key
+   *
+   * @return the column layout, or {@code null} if none is kept for this key
+   *
+   * @since 3.5.17
+   */
+  public ColumnLayout getColumnLayout(String key) {
+    return columnLayouts.get(key);
+  }
+
+  /**
+   * Keeps the column layout of a result set for the next result sets with the same columns. Statements returning an
+   * unbounded variety of column layouts (e.g. built by dynamic SQL) stop being cached once {@value #MAX_COLUMN_LAYOUTS}
+   * layouts are kept.
+   *
+   * @param key
+   *          the layout key
+   * @param columnLayout
+   *          the column layout
+   *
+   * @since 3.5.17
+   */
+  public void addColumnLayout(String key, ColumnLayout columnLayout) {
+    if (columnLayouts.size() < MAX_COLUMN_LAYOUTS) {
+      columnLayouts.putIfAbsent(key, columnLayout);
+    }
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -365,6 +828,93 @@ public class Configuration {
     this.safeResultHandlerEnabled = safeResultHandlerEnabled;
   }
 
+  /**
+   * Gets whether nested result maps are streamed to cursors and result handlers.
+   *
+   * @return {@code true} if nested result maps are streamed
+   *
+   * @since 3.5.17
+   */
+  public boolean isNestedResultStreamingEnabled() {
+    return nestedResultStreamingEnabled;
+  }
+
+  /**
+   * Sets whether nested result maps are streamed to cursors and result handlers.
+   * <p>
+   * When enabled, the rows of a statement with nested result maps read through a
+   * {@link org.apache.ibatis.cursor.Cursor} or a {@link ResultHandler} are handled as if the statement was
+   * {@code resultOrdered}: a root object is passed on as soon as a row with another root id is read, and the partially
+   * built objects are released, so the whole object graph is never held in memory. The rows must be sorted by the id
+   * columns of the root result map. Default is {@code false}.
+   *
+   * @param nestedResultStreamingEnabled
+   *          {@code true} to stream nested result maps
+   *
+   * @since 3.5.17
+   */
+  public void setNestedResultStreamingEnabled(boolean nestedResultStreamingEnabled) {
+    this.nestedResultStreamingEnabled = nestedResultStreamingEnabled;
+  }
+
+  /**
+   * Gets whether map results are created as {@link org.apache.ibatis.executor.result.CompactMap}s.
+   *
+   * @return {@code true} if map results are compact
+   *
+   * @since 3.5.17
+   */
+  public boolean isCompactMapResultsEnabled() {
+    return compactMapResultsEnabled;
+  }
+
+  /**
+   * Sets whether map results are created as {@link org.apache.ibatis.executor.result.CompactMap}s.
+   * <p>
+   * When enabled, the results of type {@code map} are created as maps whose keys are shared by all the rows of a result
+   * set and whose values are kept in an array, instead of a {@link java.util.HashMap} per row. The maps iterate their
+   * entries in the order of the columns. Results created by a custom object factory, and results of result maps with
+   * nested queries, are unchanged. Default is {@code false}.
+   *
+   * @param compactMapResultsEnabled
+   *          {@code true} to create compact map results
+   *
+   * @since 3.5.17
+   */
+  public void setCompactMapResultsEnabled(boolean compactMapResultsEnabled) {
+    this.compactMapResultsEnabled = compactMapResultsEnabled;
+  }
+
+  /**
+   * Gets whether dynamic SQL sources keep the parsed SQL they render.
+   *
+   * @return {@code true} if the parsed SQL is kept
+   *
+   * @since 3.5.17
+   */
+  public boolean isSqlTemplateCacheEnabled() {
+    return sqlTemplateCacheEnabled;
+  }
+
+  /**
+   * Sets whether dynamic SQL sources keep the parsed SQL they render.
+   * <p>
+   * When enabled, the {@code #{}} placeholders of a SQL rendered by a dynamic statement are parsed to parameter
+   * mappings only the first time the statement renders this SQL for a parameter type, later executions reuse them. SQL
+   * whose placeholders refer to {@code <foreach>} items or {@code <bind>} variables is still parsed on every execution.
+   * Each statement keeps up to 64 distinct SQL. Default is {@code false}.
+   *
+   * @param sqlTemplateCacheEnabled
+   *          {@code true} to keep the parsed SQL
+   *
+   * @since 3.5.17
+   *
+   * @see org.apache.ibatis.builder.SqlTemplateCache
+   */
+  public void setSqlTemplateCacheEnabled(boolean sqlTemplateCacheEnabled) {
+    this.sqlTemplateCacheEnabled = sqlTemplateCacheEnabled;
+  }
+
   public boolean isSafeRowBoundsEnabled() {
     return safeRowBoundsEnabled;
   }
@@ -565,6 +1115,33 @@ public class Configuration {
     this.useColumnLabel = useColumnLabel;
   }
 
+  /**
+   * Gets whether mapped columns are read by index instead of by label.
+   *
+   * @return {@code true} if columns are read by index
+   *
+   * @since 3.5.17
+   */
+  public boolean isUseColumnIndex() {
+    return useColumnIndex;
+  }
+
+  /**
+   * Sets whether mapped columns are read by index instead of by label.
+   * <p>
+   * When enabled, each mapped column is resolved to its index once per result set and the type handlers are called with
+   * {@code getResult(ResultSet, int)}, sparing the driver a column label lookup per cell. Only applies when
+   * {@link #isUseColumnLabel()} is {@code true}. Default is {@code false}.
+   *
+   * @param useColumnIndex
+   *          {@code true} to read columns by index
+   *
+   * @since 3.5.17
+   */
+  public void setUseColumnIndex(boolean useColumnIndex) {
+    this.useColumnIndex = useColumnIndex;
+  }
+
   public LocalCacheScope getLocalCacheScope() {
     return localCacheScope;
   }
@@ -631,6 +1208,71 @@ public class Configuration {
     this.reflectorFactory = reflectorFactory;
   }
 
+  /**
+   * Creates the reflectors of every bean type referenced by the registered mapped statements, result maps and parameter
+   * maps, so their first execution does not pay for scanning the classes. Call it once all the mappers have been added,
+   * e.g. before a snapshot of the application is taken or before it starts serving requests.
+   * <p>
+   * Incomplete statements and result maps are built first, as with {@link #getMappedStatements()}. Types handled by a
+   * type handler, maps, collections and arrays have no reflector and are skipped.
+   *
+   * @return the number of types whose reflector was created or looked up
+   *
+   * @since 3.5.17
+   */
+  public int warmUpReflectors() {
+    final Set<Class<?>> types = new LinkedHashSet<>();
+    buildAllStatements();
+    for (Object value : mappedStatements.values()) {
+      if (value instanceof MappedStatement) {
+        MappedStatement ms = (MappedStatement) value;
+        collectReflectedTypes(ms.getParameterMap(), types);
+        for (ResultMap resultMap : ms.getResultMaps()) {
+          collectReflectedTypes(resultMap, types);
+        }
+      }
+    }
+    for (Object value : resultMaps.values()) {
+      if (value instanceof ResultMap) {
+        collectReflectedTypes((ResultMap) value, types);
+      }
+    }
+    for (Object value : parameterMaps.values()) {
+      if (value instanceof ParameterMap) {
+        collectReflectedTypes((ParameterMap) value, types);
+      }
+    }
+    for (Class<?> type : types) {
+      reflectorFactory.findForClass(type);
+    }
+    return types.size();
+  }
+
+  private void collectReflectedTypes(ResultMap resultMap, Set<Class<?>> types) {
+    addReflectedType(resultMap.getType(), types);
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      addReflectedType(resultMapping.getJavaType(), types);
+    }
+  }
+
+  private void collectReflectedTypes(ParameterMap parameterMap, Set<Class<?>> types) {
+    if (parameterMap == null) {
+      return;
+    }
+    addReflectedType(parameterMap.getType(), types);
+    for (ParameterMapping parameterMapping : parameterMap.getParameterMappings()) {
+      addReflectedType(parameterMapping.getJavaType(), types);
+    }
+  }
+
+  private void addReflectedType(Class<?> type, Set<Class<?>> types) {
+    if (type == null || type.isPrimitive() || type.isArray() || Map.class.isAssignableFrom(type)
+        || Collection.class.isAssignableFrom(type) || typeHandlerRegistry.hasTypeHandler(type)) {
+      return;
+    }
+    types.add(type);
+  }
+
   public ObjectFactory getObjectFactory() {
     return objectFactory;
   }
@@ -931,6 +1573,29 @@ public class Configuration {
     interceptorChain.addInterceptor(interceptor);
   }
 
+  /**
+   * Adds a listener notified of every statement execution.
+   *
+   * @param listener
+   *          the listener
+   *
+   * @since 3.5.17
+   */
+  public void addStatementExecutionListener(StatementExecutionListener listener) {
+    statementExecutionListeners.add(listener);
+  }
+
+  /**
+   * Gets the registered statement execution listeners.
+   *
+   * @return the listeners
+   *
+   * @since 3.5.17
+   */
+  public List<StatementExecutionListener> getStatementExecutionListeners() {
+    return Collections.unmodifiableList(statementExecutionListeners);
+  }
+
   public void addMappers(String packageName, Class<?> superType) {
     mapperRegistry.addMappers(packageName, superType);
   }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,7 +15,14 @@
  */
 package org.apache.ibatis.builder;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Assertions;
@@ -53,4 +60,49 @@ public class SqlSourceBuilderTest {
     String shrankWhitespacesInSql = "SELECT * FROM user WHERE user_id = 1";
     Assertions.assertEquals(shrankWhitespacesInSql, actual);
   }
+
+  @Test
+  void shouldReuseParsedSqlOfTheSameParameterType() {
+    SqlTemplateCache templateCache = new SqlTemplateCache();
+    String sql = "SELECT * FROM author WHERE id = #{id} AND username = #{username,jdbcType=VARCHAR}";
+    BoundSql first = sqlSourceBuilder.parse(sql, Author.class, new HashMap<>(), templateCache).getBoundSql(null);
+    BoundSql second = sqlSourceBuilder.parse(sql, Author.class, new HashMap<>(), templateCache).getBoundSql(null);
+
+    Assertions.assertEquals(1, templateCache.size());
+    Assertions.assertEquals("SELECT * FROM author WHERE id = ? AND username = ?", second.getSql());
+    List<ParameterMapping> mappings = second.getParameterMappings();
+    Assertions.assertEquals(first.getParameterMappings(), mappings);
+    Assertions.assertNotSame(first.getParameterMappings(), mappings);
+    Assertions.assertEquals(int.class, mappings.get(0).getJavaType());
+    Assertions.assertEquals(String.class, mappings.get(1).getJavaType());
+
+    sqlSourceBuilder.parse(sql, Map.class, new HashMap<>(), templateCache);
+    Assertions.assertEquals(2, templateCache.size());
+  }
+
+  @Test
+  void shouldNotReuseParsedSqlOfPropertiesShadowedByAdditionalParameters() {
+    SqlTemplateCache templateCache = new SqlTemplateCache();
+    String sql = "SELECT * FROM author WHERE id = #{id}";
+    sqlSourceBuilder.parse(sql, Author.class, new HashMap<>(), templateCache);
+    Assertions.assertEquals(1, templateCache.size());
+
+    Map<String, Object> additionalParameters = Collections.singletonMap("id", "1");
+    BoundSql boundSql = sqlSourceBuilder.parse(sql, Author.class, additionalParameters, templateCache)
+        .getBoundSql(null);
+    Assertions.assertEquals(String.class, boundSql.getParameterMappings().get(0).getJavaType());
+
+    templateCache.clear();
+    sqlSourceBuilder.parse(sql, Author.class, additionalParameters, templateCache);
+    Assertions.assertEquals(0, templateCache.size());
+  }
+
+  @Test
+  void shouldNotReuseParsedSqlAfterShrinkingWhitespaces() {
+    SqlTemplateCache templateCache = new SqlTemplateCache();
+    sqlSourceBuilder.parse(sqlFromXml, null, null, templateCache);
+    configuration.setShrinkWhitespacesInSql(true);
+    BoundSql boundSql = sqlSourceBuilder.parse(sqlFromXml, null, null, templateCache).getBoundSql(null);
+    Assertions.assertEquals("SELECT * FROM user WHERE user_id = 1", boundSql.getSql());
+  }
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -99,6 +99,9 @@ class XmlConfigBuilderTest {
       assertThat(config.getLazyLoadTriggerMethods())
           .isEqualTo(new HashSet<>(Arrays.asList("equals", "clone", "hashCode", "toString")));
       assertThat(config.isSafeResultHandlerEnabled()).isTrue();
+      assertThat(config.isNestedResultStreamingEnabled()).isFalse();
+      assertThat(config.isCompactMapResultsEnabled()).isFalse();
+      assertThat(config.isSqlTemplateCacheEnabled()).isFalse();
       assertThat(config.getDefaultScriptingLanuageInstance()).isInstanceOf(XMLLanguageDriver.class);
       assertThat(config.isCallSettersOnNulls()).isFalse();
       assertNull(config.getLogPrefix());
@@ -110,6 +113,14 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
       assertThat(config.isNullableOnForEach()).isFalse();
+      assertThat(config.getNestedQueryParallelism()).isEqualTo(1);
+      assertThat(config.getDefaultBatchFetchSize()).isZero();
+      assertThat(config.getReuseStatementCacheSize()).isZero();
+      assertThat(config.getSlowQueryThreshold()).isNull();
+      assertThat(config.isStatementLatencyHistogramsEnabled()).isFalse();
+      assertThat(config.isCompiledRowMappersEnabled()).isFalse();
+      assertThat(config.getResultMappingParallelism()).isEqualTo(1);
+      assertThat(config.isUseColumnIndex()).isFalse();
     }
   }
 
@@ -205,6 +216,9 @@ class XmlConfigBuilderTest {
       assertThat(config.getLazyLoadTriggerMethods())
           .isEqualTo(new HashSet<>(Arrays.asList("equals", "clone", "hashCode", "toString", "xxx")));
       assertThat(config.isSafeResultHandlerEnabled()).isFalse();
+      assertThat(config.isNestedResultStreamingEnabled()).isTrue();
+      assertThat(config.isCompactMapResultsEnabled()).isTrue();
+      assertThat(config.isSqlTemplateCacheEnabled()).isTrue();
       assertThat(config.getDefaultScriptingLanuageInstance()).isInstanceOf(RawLanguageDriver.class);
       assertThat(config.isCallSettersOnNulls()).isTrue();
       assertThat(config.getLogPrefix()).isEqualTo("mybatis_");
@@ -215,6 +229,14 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
       assertThat(config.isNullableOnForEach()).isTrue();
+      assertThat(config.getNestedQueryParallelism()).isEqualTo(4);
+      assertThat(config.getDefaultBatchFetchSize()).isEqualTo(50);
+      assertThat(config.getReuseStatementCacheSize()).isEqualTo(20);
+      assertThat(config.getSlowQueryThreshold()).isEqualTo(500);
+      assertThat(config.isStatementLatencyHistogramsEnabled()).isTrue();
+      assertThat(config.isCompiledRowMappersEnabled()).isTrue();
+      assertThat(config.getResultMappingParallelism()).isEqualTo(4);
+      assertThat(config.isUseColumnIndex()).isTrue();
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
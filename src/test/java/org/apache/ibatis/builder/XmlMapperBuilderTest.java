@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -21,13 +21,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.BDDAssertions.then;
 
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Blog;
+import org.apache.ibatis.domain.blog.ComplexImmutableAuthor;
+import org.apache.ibatis.domain.blog.ComplexImmutableAuthorId;
+import org.apache.ibatis.domain.blog.ImmutableAuthor;
+import org.apache.ibatis.domain.blog.Post;
+import org.apache.ibatis.domain.blog.Section;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.TypeHandler;
 import org.junit.jupiter.api.Assertions;
@@ -46,6 +58,64 @@ class XmlMapperBuilderTest {
     }
   }
 
+  @Test
+  void shouldWarmUpReflectorsOfMappedTypes() throws Exception {
+    Configuration configuration = new Configuration();
+    Set<Class<?>> reflected = new HashSet<>();
+    configuration.setReflectorFactory(new DefaultReflectorFactory() {
+      @Override
+      public Reflector findForClass(Class<?> type) {
+        reflected.add(type);
+        return super.findForClass(type);
+      }
+    });
+    String resource = "org/apache/ibatis/builder/AuthorMapper.xml";
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      XMLMapperBuilder builder = new XMLMapperBuilder(inputStream, configuration, resource,
+          configuration.getSqlFragments());
+      builder.parse();
+    }
+    reflected.clear();
+
+    int warmedUp = configuration.warmUpReflectors();
+
+    assertThat(reflected).hasSize(warmedUp).contains(Author.class, ImmutableAuthor.class, ComplexImmutableAuthor.class,
+        ComplexImmutableAuthorId.class);
+    assertThat(reflected).doesNotContain(Section.class, String.class, Integer.class, HashMap.class);
+  }
+
+  @Test
+  void shouldWarmUpReflectorsWhenIdsAreSharedAcrossNamespaces() throws Exception {
+    Configuration configuration = new Configuration();
+    Set<Class<?>> reflected = new HashSet<>();
+    configuration.setReflectorFactory(new DefaultReflectorFactory() {
+      @Override
+      public Reflector findForClass(Class<?> type) {
+        reflected.add(type);
+        return super.findForClass(type);
+      }
+    });
+    configuration.getTypeAliasRegistry().registerAliases("org.apache.ibatis.domain.blog");
+    for (String resource : new String[] { "org/apache/ibatis/builder/BlogMapper.xml",
+        "org/apache/ibatis/builder/NestedBlogMapper.xml" }) {
+      try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+        XMLMapperBuilder builder = new XMLMapperBuilder(inputStream, configuration, resource,
+            configuration.getSqlFragments());
+        builder.parse();
+      }
+    }
+
+    when(() -> configuration.getResultMap("blogJoinedWithPostsAndAuthor"));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("ambiguous");
+    when(() -> configuration.getMappedStatement("selectBlogJoinedWithPostsAndAuthor"));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("ambiguous");
+    reflected.clear();
+
+    int warmedUp = configuration.warmUpReflectors();
+
+    assertThat(reflected).hasSize(warmedUp).contains(Blog.class, Post.class, Author.class);
+  }
+
   @Test
   void mappedStatementWithOptions() throws Exception {
     Configuration configuration = new Configuration();
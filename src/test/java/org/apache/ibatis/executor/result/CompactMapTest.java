@@ -0,0 +1,87 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Test;
+
+class CompactMapTest {
+
+  private final CompactMap.Schema schema = CompactMap.Schema.of(Arrays.asList("id", "name", "id", "kind"));
+
+  @Test
+  void shouldOnlyContainTheKeysThatWerePut() {
+    CompactMap map = new CompactMap(schema);
+    assertThat(schema.getKeys()).containsExactlyInAnyOrder("id", "name", "kind");
+    assertThat(map).isEmpty();
+    assertThat(map.put("name", "Rex")).isNull();
+    assertThat(map.put("kind", null)).isNull();
+    assertThat(map.put("name", "Tom")).isEqualTo("Rex");
+    assertThat(map.put("age", 3)).isNull();
+
+    assertThat(map).hasSize(3).containsExactly(entry("name", "Tom"), entry("kind", null), entry("age", 3));
+    assertThat(map.containsKey("id")).isFalse();
+    assertThat(map.containsKey("kind")).isTrue();
+    assertThat(map.get("id")).isNull();
+    assertThat(map.remove("name")).isEqualTo("Tom");
+    assertThat(map.remove("age")).isEqualTo(3);
+    assertThat(map).containsOnlyKeys("kind");
+    map.clear();
+    assertThat(map).isEmpty();
+  }
+
+  @Test
+  void shouldModifyTheMapThroughItsEntries() {
+    CompactMap map = new CompactMap(schema);
+    map.put("id", 1);
+    map.put("name", "Rex");
+    map.put("age", 3);
+    Iterator<Entry<String, Object>> iterator = map.entrySet().iterator();
+    iterator.next().setValue(2);
+    iterator.next();
+    iterator.remove();
+    iterator.next();
+    iterator.remove();
+    assertThat(iterator.hasNext()).isFalse();
+    assertThrows(IllegalStateException.class, iterator::remove);
+    assertThat(map).containsExactly(entry("id", 2));
+  }
+
+  @Test
+  void shouldBeSerializedAsLinkedHashMap() throws Exception {
+    CompactMap map = new CompactMap(schema);
+    map.put("kind", "dog");
+    map.put("id", 1);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    new ObjectOutputStream(baos).writeObject(map);
+    Object copy = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+    assertThat(copy).isInstanceOf(LinkedHashMap.class).isEqualTo(map);
+    assertThat(copy.hashCode()).isEqualTo(map.hashCode());
+  }
+
+}
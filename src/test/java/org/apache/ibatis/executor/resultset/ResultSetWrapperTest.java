@@ -0,0 +1,128 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler.UnMappedColumnAutoMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ResultSetWrapperTest {
+
+  @Mock
+  private ResultSet rs;
+  @Mock
+  private ResultSetMetaData rsmd;
+
+  private final Configuration configuration = new Configuration();
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rsmd.getColumnCount()).thenReturn(4);
+    when(rsmd.getColumnLabel(1)).thenReturn("id");
+    when(rsmd.getColumnLabel(2)).thenReturn("NAME");
+    when(rsmd.getColumnLabel(3)).thenReturn("author_name");
+    when(rsmd.getColumnLabel(4)).thenReturn("Name");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnType(2)).thenReturn(Types.VARCHAR);
+    when(rsmd.getColumnType(3)).thenReturn(Types.VARCHAR);
+    when(rsmd.getColumnType(4)).thenReturn(Types.CLOB);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getName());
+    when(rsmd.getColumnClassName(2)).thenReturn(String.class.getName());
+    when(rsmd.getColumnClassName(3)).thenReturn(String.class.getName());
+    when(rsmd.getColumnClassName(4)).thenReturn(String.class.getName());
+  }
+
+  @Test
+  void shouldFindColumnsCaseInsensitively() throws SQLException {
+    ResultSetWrapper rsw = new ResultSetWrapper(rs, configuration);
+    assertEquals(1, rsw.getColumnIndex("ID"));
+    assertEquals(2, rsw.getColumnIndex("name"));
+    assertEquals(3, rsw.getColumnIndex("Author_Name"));
+    assertEquals(-1, rsw.getColumnIndex("missing"));
+    assertEquals(JdbcType.VARCHAR, rsw.getJdbcType("Name"));
+    assertNull(rsw.getJdbcType("missing"));
+    assertEquals(Arrays.asList("id", "NAME", "author_name", "Name"), rsw.getColumnNames());
+  }
+
+  @Test
+  void shouldShareTheLayoutOfResultSetsWithTheSameColumns() throws SQLException {
+    ResultSetWrapper first = new ResultSetWrapper(rs, configuration);
+    ResultSetWrapper second = new ResultSetWrapper(rs, configuration);
+    assertEquals(first.getLayoutKey(), second.getLayoutKey());
+    assertSame(first.getColumnNames(), second.getColumnNames());
+    assertSame(first.getTypeHandler(String.class, "name"), second.getTypeHandler(String.class, "NAME"));
+
+    ResultMap resultMap = new ResultMap.Builder(configuration, "author", Object.class, new ArrayList<>()).build();
+    assertSame(first.getUnmappedColumnNames(resultMap, "author_"), second.getUnmappedColumnNames(resultMap, "author_"));
+    assertThrows(UnsupportedOperationException.class, () -> first.getUnmappedColumnNames(resultMap, null).clear());
+  }
+
+  @Test
+  void shouldShareAutoMappingsOfTheSameClassAndSettings() throws SQLException {
+    ResultSetWrapper first = new ResultSetWrapper(rs, configuration);
+    ResultSetWrapper second = new ResultSetWrapper(rs, configuration);
+    ResultMap resultMap = new ResultMap.Builder(configuration, "author", Object.class, new ArrayList<>()).build();
+    List<UnMappedColumnAutoMapping> autoMappings = Collections.emptyList();
+    first.getColumnLayout().putAutoMappings(resultMap, null, Object.class, false, autoMappings);
+
+    assertSame(autoMappings, second.getColumnLayout().getAutoMappings(resultMap, null, Object.class, false));
+    assertSame(autoMappings, second.getColumnLayout().getAutoMappings(resultMap, "", Object.class, false));
+    assertNull(second.getColumnLayout().getAutoMappings(resultMap, null, Object.class, true));
+    assertNull(second.getColumnLayout().getAutoMappings(resultMap, null, String.class, false));
+    assertNull(second.getColumnLayout().getAutoMappings(resultMap, "author_", Object.class, false));
+  }
+
+  @Test
+  void shouldSplitMappedColumnsByPrefix() throws SQLException {
+    ResultSetWrapper rsw = new ResultSetWrapper(rs, configuration);
+    ResultMapping name = new ResultMapping.Builder(configuration, "name", "name", new StringTypeHandler()).build();
+    ResultMap resultMap = new ResultMap.Builder(configuration, "author", Object.class, Arrays.asList(name)).build();
+
+    assertEquals(new HashSet<>(Arrays.asList("NAME")), rsw.getMappedColumnNames(resultMap, null));
+    assertEquals(Arrays.asList("id", "author_name"), rsw.getUnmappedColumnNames(resultMap, null));
+    assertEquals(new HashSet<>(Arrays.asList("AUTHOR_NAME")), rsw.getMappedColumnNames(resultMap, "author_"));
+    assertEquals(Arrays.asList("id", "NAME", "Name"), rsw.getUnmappedColumnNames(resultMap, "author_"));
+    assertTrue(rsw.getMappedColumnNames(resultMap, "").contains("NAME"));
+  }
+
+}
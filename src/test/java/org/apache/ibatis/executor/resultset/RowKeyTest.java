@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class RowKeyTest {
+
+  private final RowKey.Builder builder = new RowKey.Builder();
+
+  @Test
+  void shouldBeEqualForSameValues() {
+    RowKey key1 = builder.start("blog").add("id").add(1).add("code").add(new byte[] { 1, 2 }).build();
+    RowKey key2 = builder.start("blog").add("id").add(1).add("code").add(new byte[] { 1, 2 }).build();
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+    assertNotEquals(key1, builder.start("blog").add("id").add(2).add("code").add(new byte[] { 1, 2 }).build());
+    assertNotEquals(key1, builder.start("author").add("id").add(1).add("code").add(new byte[] { 1, 2 }).build());
+  }
+
+  @Test
+  void shouldBeNullWithoutValues() {
+    assertSame(RowKey.NULL_ROW_KEY, builder.start("blog").build());
+    RowKey key = builder.start("blog").add("id").add(1).build();
+    assertSame(RowKey.NULL_ROW_KEY, key.combine(RowKey.NULL_ROW_KEY));
+    assertSame(RowKey.NULL_ROW_KEY, RowKey.NULL_ROW_KEY.combine(key));
+  }
+
+  @Test
+  void shouldKeepNestedKeysOfDifferentParentsApart() {
+    RowKey parent1 = builder.start("blog").add("id").add(1).build();
+    RowKey parent2 = builder.start("blog").add("id").add(2).build();
+    RowKey child = builder.start("post").add("post_id").add(10).build();
+    assertEquals(child.combine(parent1), builder.start("post").add("post_id").add(10).build().combine(parent1));
+    assertNotEquals(child.combine(parent1), child.combine(parent2));
+    assertNotEquals(child, child.combine(parent1));
+  }
+
+}
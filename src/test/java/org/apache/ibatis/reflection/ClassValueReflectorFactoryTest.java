@@ -0,0 +1,61 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Blog;
+import org.junit.jupiter.api.Test;
+
+class ClassValueReflectorFactoryTest {
+
+  @Test
+  void shouldCacheReflectorsPerClass() {
+    ClassValueReflectorFactory factory = new ClassValueReflectorFactory();
+    Reflector reflector = factory.findForClass(Author.class);
+    assertEquals(Author.class, reflector.getType());
+    assertSame(reflector, factory.findForClass(Author.class));
+    assertNotSame(reflector, new ClassValueReflectorFactory().findForClass(Author.class));
+  }
+
+  @Test
+  void shouldCountLookupsAndMisses() {
+    ClassValueReflectorFactory factory = new ClassValueReflectorFactory();
+    assertEquals(0, factory.getHitRate());
+    factory.findForClass(Author.class);
+    factory.findForClass(Author.class);
+    factory.findForClass(Author.class);
+    factory.findForClass(Blog.class);
+
+    assertEquals(2, factory.getSize());
+    assertEquals(4, factory.getLookupCount());
+    assertEquals(2, factory.getMissCount());
+    assertEquals(0.5, factory.getHitRate());
+  }
+
+  @Test
+  void shouldCreateReflectorsEachTimeWhenTheCacheIsDisabled() {
+    ClassValueReflectorFactory factory = new ClassValueReflectorFactory();
+    factory.setClassCacheEnabled(false);
+    assertNotSame(factory.findForClass(Author.class), factory.findForClass(Author.class));
+    assertEquals(0, factory.getSize());
+    assertEquals(2, factory.getMissCount());
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.misc.RichType;
+import org.junit.jupiter.api.Test;
+
+class PropertyPathTest {
+
+  @Test
+  void shouldCacheParsedPaths() {
+    PropertyPath path = PropertyPath.of("richType.richMap[key]");
+    assertSame(path, PropertyPath.of("richType.richMap[key]"));
+    assertEquals("richType.richMap[key]", path.getExpression());
+    assertEquals("richType", path.getTokenizer().getName());
+    assertEquals("richMap[key]", path.getTokenizer().getChildren());
+  }
+
+  @Test
+  void shouldInstantiateMissingIntermediateBeans() {
+    RichType rich = new RichType();
+    MetaObject meta = SystemMetaObject.forObject(rich);
+    assertNull(meta.getValue("richType.richType.richProperty"));
+    meta.setValue("richType.richType.richProperty", "foo");
+    assertEquals("foo", rich.getRichType().getRichType().getRichProperty());
+    assertEquals("foo", meta.getValue("richType.richType.richProperty"));
+  }
+
+  @Test
+  void shouldNotInstantiateIntermediateBeansForNullValues() {
+    RichType rich = new RichType();
+    SystemMetaObject.forObject(rich).setValue("richType.richProperty", null);
+    assertNull(rich.getRichType());
+  }
+
+  @Test
+  void shouldContinueThroughMapsAndCollections() {
+    RichType rich = new RichType();
+    MetaObject meta = SystemMetaObject.forObject(rich);
+    meta.setValue("richType.richMap.key", "foo");
+    assertEquals("foo", rich.getRichType().getRichMap().get("key"));
+    assertEquals("foo", meta.getValue("richType.richMap.key"));
+    rich.getRichList().add("bar");
+    assertEquals("bar", meta.getValue("richList[0]"));
+  }
+
+  @Test
+  void shouldRebindWhenTheClassOfAnIntermediateChanges() {
+    RichType rich = new RichType();
+    MetaObject meta = SystemMetaObject.forObject(rich);
+    rich.setRichType(new RichType());
+    meta.setValue("richType.richProperty", "foo");
+    assertEquals("foo", meta.getValue("richType.richProperty"));
+    rich.setRichType(new RichType() {
+      @Override
+      public String getRichProperty() {
+        return "bar";
+      }
+    });
+    assertEquals("bar", meta.getValue("richType.richProperty"));
+  }
+
+  @Test
+  void shouldReportMissingProperties() {
+    MetaObject meta = SystemMetaObject.forObject(new Author());
+    ReflectionException get = assertThrows(ReflectionException.class, () -> meta.getValue("missing"));
+    assertEquals("There is no getter for property named 'missing' in 'class org.apache.ibatis.domain.blog.Author'",
+        get.getMessage());
+    ReflectionException set = assertThrows(ReflectionException.class, () -> meta.setValue("missing", "foo"));
+    assertEquals("Could not set property 'missing' of 'class org.apache.ibatis.domain.blog.Author' with value 'foo'"
+        + " Cause: org.apache.ibatis.reflection.ReflectionException: There is no setter for property named 'missing'"
+        + " in 'class org.apache.ibatis.domain.blog.Author'", set.getMessage());
+  }
+
+  @Test
+  void shouldNotCachePathsOfMaps() throws Exception {
+    Map<String, Object> map = new HashMap<>();
+    MetaObject meta = SystemMetaObject.forObject(map);
+    meta.setValue("__frch_item_0", "foo");
+    assertEquals("foo", meta.getValue("__frch_item_0"));
+    assertEquals("foo", map.get("__frch_item_0"));
+    assertFalse(cachedPaths().containsKey("__frch_item_0"));
+  }
+
+  @Test
+  void shouldCachePathsOfBeans() throws Exception {
+    SystemMetaObject.forObject(new Author()).getValue("favouriteSection");
+    assertTrue(cachedPaths().containsKey("favouriteSection"));
+  }
+
+  @Test
+  void shouldUseTheMetaClassOfTheRootWrapper() {
+    AtomicInteger lookups = new AtomicInteger();
+    DefaultReflectorFactory reflectorFactory = new DefaultReflectorFactory() {
+      @Override
+      public Reflector findForClass(Class<?> type) {
+        lookups.incrementAndGet();
+        return super.findForClass(type);
+      }
+    };
+    reflectorFactory.setClassCacheEnabled(false);
+    Author author = new Author();
+    MetaObject meta = MetaObject.forObject(author, SystemMetaObject.DEFAULT_OBJECT_FACTORY,
+        SystemMetaObject.DEFAULT_OBJECT_WRAPPER_FACTORY, reflectorFactory);
+    assertEquals(1, lookups.get());
+
+    meta.setValue("id", 1);
+    meta.setValue("username", "jim");
+    meta.setValue("email", "jim@ibatis.apache.org");
+    assertEquals("jim", meta.getValue("username"));
+    assertEquals(1, lookups.get());
+    assertEquals("jim@ibatis.apache.org", author.getEmail());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, PropertyPath> cachedPaths() throws Exception {
+    Field paths = PropertyPath.class.getDeclaredField("PATHS");
+    paths.setAccessible(true);
+    return (Map<String, PropertyPath>) paths.get(null);
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -46,6 +46,24 @@ class ReflectorTest {
     Assertions.assertEquals(Long.class, reflector.getGetterType("id"));
   }
 
+  @Test
+  void shouldFindPropertyNamesIgnoringCaseAndUnderscores() {
+    @SuppressWarnings("unused")
+    class BeanClass {
+      private String firstName;
+      private String last_name;
+    }
+    Reflector reflector = new DefaultReflectorFactory().findForClass(BeanClass.class);
+    assertEquals("firstName", reflector.findPropertyName("FIRSTNAME"));
+    assertEquals("firstName", reflector.findPropertyName("FIRST_NAME", true));
+    assertEquals("firstName", reflector.findPropertyName("FIRST_NAME", true));
+    Assertions.assertNull(reflector.findPropertyName("FIRST_NAME"));
+    assertEquals("last_name", reflector.findPropertyName("LAST_NAME"));
+    Assertions.assertNull(reflector.findPropertyName("LAST_NAME", true));
+    Assertions.assertNull(reflector.findPropertyName("missing", true));
+    Assertions.assertNull(reflector.findPropertyName("missing", true));
+  }
+
   @Test
   void shouldNotGetClass() {
     ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 package org.apache.ibatis.reflection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
@@ -25,6 +27,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -480,4 +483,48 @@ class TypeParameterResolverTest {
   interface IfaceB extends ParentIface<BB> {}
   interface ParentIface<T> {List<T> m();}
   // @formatter:on
+
+  @Test
+  void shouldReuseResolvedTypes() throws Exception {
+    Method selectList = Level1Mapper.class.getMethod("selectList", Object.class, Object.class);
+    Type result = TypeParameterResolver.resolveReturnType(selectList, Level1Mapper.class);
+    assertSame(result, TypeParameterResolver.resolveReturnType(selectList, Level1Mapper.class));
+    assertEquals(StringItems.class.getDeclaredField("items").getGenericType(), result);
+    assertEquals(result, StringItems.class.getDeclaredField("items").getGenericType());
+    assertEquals(StringItems.class.getDeclaredField("items").getGenericType().hashCode(), result.hashCode());
+
+    Type fieldType = TypeParameterResolver.resolveFieldType(Items.class.getDeclaredField("items"), StringItems.class);
+    assertSame(fieldType,
+        TypeParameterResolver.resolveReturnType(Items.class.getMethod("getItems"), StringItems.class));
+
+    Method setItems = Items.class.getMethod("setItems", List.class);
+    Type[] paramTypes = TypeParameterResolver.resolveParamTypes(setItems, StringItems.class);
+    assertSame(fieldType, paramTypes[0]);
+    paramTypes[0] = null;
+    assertSame(fieldType, TypeParameterResolver.resolveParamTypes(setItems, StringItems.class)[0]);
+  }
+
+  @Test
+  void shouldNotCacheTypesResolvedAgainstClassesOfParentClassLoaders() throws Exception {
+    Method entrySet = HashMap.class.getMethod("entrySet");
+    Type result = TypeParameterResolver.resolveReturnType(entrySet, HashMap.class);
+    assertEquals(result, TypeParameterResolver.resolveReturnType(entrySet, HashMap.class));
+    assertNotSame(result, TypeParameterResolver.resolveReturnType(entrySet, HashMap.class));
+  }
+
+  static class Items<T> {
+    protected List<T> items;
+
+    public List<T> getItems() {
+      return items;
+    }
+
+    public void setItems(List<T> items) {
+      this.items = items;
+    }
+  }
+
+  static class StringItems extends Items<String> {
+    protected List<String> items;
+  }
 }
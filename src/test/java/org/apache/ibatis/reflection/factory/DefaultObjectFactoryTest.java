@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,6 +15,10 @@
  */
 package org.apache.ibatis.reflection.factory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -95,4 +99,20 @@ class DefaultObjectFactoryTest {
     Set set = defaultObjectFactory.create(Set.class);
     Assertions.assertTrue(set instanceof HashSet, " set should be HashSet");
   }
+
+  @Test
+  void createClassAfterDeserialization() throws Exception {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    defaultObjectFactory.create(TestClass.class, Arrays.asList(String.class, Integer.class), Arrays.asList("foo", 0));
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    new ObjectOutputStream(baos).writeObject(defaultObjectFactory);
+    DefaultObjectFactory deserialized = (DefaultObjectFactory) new ObjectInputStream(
+        new ByteArrayInputStream(baos.toByteArray())).readObject();
+
+    TestClass testClass = deserialized.create(TestClass.class, Arrays.asList(String.class, Integer.class),
+        Arrays.asList("bar", 1));
+    Assertions.assertEquals((Integer) 1, testClass.myInteger, "myInteger didn't match expected");
+    Assertions.assertEquals("bar", testClass.myString, "myString didn't match expected");
+  }
 }
@@ -0,0 +1,90 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.junit.jupiter.api.Test;
+
+class ObjectConstructorTest {
+
+  @Test
+  void shouldLookUpConstructorsByParameterTypes() throws Exception {
+    List<Class<?>> parameterTypes = Arrays.asList(int.class, String.class);
+    ObjectConstructor constructor = ObjectConstructor.forParameterTypes(Author.class, parameterTypes);
+    assertEquals(Author.class, constructor.getType());
+    assertEquals(parameterTypes, constructor.getParameterTypes());
+    assertEquals(parameterTypes, ObjectConstructor
+        .forConstructor(Author.class.getDeclaredConstructor(int.class, String.class)).getParameterTypes());
+
+    Author author = (Author) constructor.newInstance(Arrays.asList(1, "John"));
+    assertEquals(1, author.id);
+    assertEquals("John", author.name);
+  }
+
+  @Test
+  void shouldInvokePrivateConstructors() {
+    Author author = (Author) ObjectConstructor.forParameterTypes(Author.class, Arrays.asList(String.class))
+        .newInstance(Arrays.asList("John"));
+    assertEquals(-1, author.id);
+  }
+
+  @Test
+  void shouldReportMissingConstructorAndInvalidValues() {
+    ReflectionException e = assertThrows(ReflectionException.class,
+        () -> ObjectConstructor.forParameterTypes(Author.class, Arrays.asList(long.class)));
+    assertTrue(e.getMessage().startsWith("Error instantiating " + Author.class + " with invalid types (long)"));
+
+    ObjectConstructor constructor = ObjectConstructor.forParameterTypes(Author.class,
+        Arrays.asList(int.class, String.class));
+    e = assertThrows(ReflectionException.class, () -> constructor.newInstance(Arrays.asList(null, "John")));
+    assertTrue(e.getMessage().contains("invalid types (int,String) or values (null,John)"));
+    e = assertThrows(ReflectionException.class, () -> constructor.newInstance(Arrays.asList(-2, "John")));
+    assertTrue(e.getCause() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  void shouldReportValuesOfMissingConstructors() {
+    ReflectionException e = assertThrows(ReflectionException.class,
+        () -> ObjectConstructor.forParameterTypes(Author.class, Arrays.asList(long.class), Arrays.asList(1L)));
+    assertTrue(e.getMessage().contains("invalid types (long) or values (1)"));
+    assertTrue(e.getCause() instanceof NoSuchMethodException);
+  }
+
+  static class Author {
+    private final int id;
+    private final String name;
+
+    Author(int id, String name) {
+      if (id < -1) {
+        throw new IllegalArgumentException("id");
+      }
+      this.id = id;
+      this.name = name;
+    }
+
+    private Author(String name) {
+      this(-1, name);
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the getter and setter invokers of a typical bean, compared with calling the accessors directly. Run with
+ * {@code mvn test -Dtest=InvokerBenchmarkTest -DexcludedGroups=}.
+ */
+@Tag("Benchmarks")
+class InvokerBenchmarkTest {
+
+  private static final int WARM_UP_ITERATIONS = 200_000;
+  private static final int ITERATIONS = 10_000_000;
+
+  @Test
+  void invokeGetters() throws Exception {
+    Author author = new Author(101, "jim", "********", "jim@ibatis.apache.org", "", null);
+    Method getUsername = Author.class.getMethod("getUsername");
+    Method getId = Author.class.getMethod("getId");
+    compare("getUsername", author::getUsername, invoker(new MethodInvoker(getUsername), author, null),
+        invoker(LambdaMethodInvoker.forMethod(getUsername), author, null));
+    compare("getId", author::getId, invoker(new MethodInvoker(getId), author, null),
+        invoker(LambdaMethodInvoker.forMethod(getId), author, null));
+  }
+
+  @Test
+  void invokeSetters() throws Exception {
+    Author author = new Author();
+    Method setUsername = Author.class.getMethod("setUsername", String.class);
+    Method setId = Author.class.getMethod("setId", int.class);
+    Object[] username = { "jim" };
+    Object[] id = { 101 };
+    compare("setUsername", () -> {
+      author.setUsername("jim");
+      return author;
+    }, invoker(new MethodInvoker(setUsername), author, username),
+        invoker(LambdaMethodInvoker.forMethod(setUsername), author, username));
+    compare("setId", () -> {
+      author.setId(101);
+      return author;
+    }, invoker(new MethodInvoker(setId), author, id), invoker(LambdaMethodInvoker.forMethod(setId), author, id));
+    assertThat(author.getUsername()).isEqualTo("jim");
+    assertThat(author.getId()).isEqualTo(101);
+  }
+
+  private static void compare(String name, Operation direct, Operation reflective, Operation lambda) throws Exception {
+    assertThat(lambda.run()).isEqualTo(reflective.run()).isEqualTo(direct.run());
+    double directTime = measure(direct);
+    double reflectiveTime = measure(reflective);
+    double lambdaTime = measure(lambda);
+    System.out.printf("%-12s direct: %6.2f ns/op  reflection: %6.2f ns/op  lambda: %6.2f ns/op%n", name, directTime,
+        reflectiveTime, lambdaTime);
+  }
+
+  private static Operation invoker(Invoker invoker, Object target, Object[] args) {
+    // a setter returns null, so the target is returned instead
+    return () -> {
+      Object result = invoker.invoke(target, args);
+      return result == null ? target : result;
+    };
+  }
+
+  private static double measure(Operation operation) throws Exception {
+    Object blackhole = null;
+    for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+      blackhole = operation.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      blackhole = operation.run();
+    }
+    long elapsed = System.nanoTime() - start;
+    assertThat(blackhole).isNotNull();
+    return (double) elapsed / ITERATIONS;
+  }
+
+  @FunctionalInterface
+  private interface Operation {
+    Object run() throws Exception;
+  }
+
+}
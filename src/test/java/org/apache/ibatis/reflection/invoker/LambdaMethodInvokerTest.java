@@ -0,0 +1,117 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+import org.apache.ibatis.reflection.Reflector;
+import org.junit.jupiter.api.Test;
+
+class LambdaMethodInvokerTest {
+
+  @Test
+  void shouldGetAndSetThroughLambdas() throws Exception {
+    Invoker setId = LambdaMethodInvoker.forMethod(Bean.class.getDeclaredMethod("setId", int.class));
+    Invoker getId = LambdaMethodInvoker.forMethod(Bean.class.getDeclaredMethod("getId"));
+    assertThat(setId).isInstanceOf(LambdaMethodInvoker.class);
+    assertThat(getId).isInstanceOf(LambdaMethodInvoker.class);
+    assertThat(setId.getType()).isEqualTo(int.class);
+    assertThat(getId.getType()).isEqualTo(int.class);
+
+    Bean bean = new Bean();
+    assertThat(setId.invoke(bean, new Object[] { 10 })).isNull();
+    assertThat(getId.invoke(bean, null)).isEqualTo(10);
+  }
+
+  @Test
+  void shouldRejectInvalidArgumentsLikeReflection() throws Exception {
+    Invoker setId = LambdaMethodInvoker.forMethod(Bean.class.getDeclaredMethod("setId", int.class));
+    Invoker setName = LambdaMethodInvoker.forMethod(Bean.class.getDeclaredMethod("setName", String.class));
+    Bean bean = new Bean();
+    assertThatThrownBy(() -> setId.invoke(bean, new Object[] { null })).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> setId.invoke(bean, new Object[] { "1" })).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> setName.invoke("bean", new Object[] { "John" }))
+        .isInstanceOf(IllegalArgumentException.class);
+    setName.invoke(bean, new Object[] { null });
+    assertThat(bean.getName()).isNull();
+  }
+
+  @Test
+  void shouldWrapExceptionsThrownByTheMethod() throws Exception {
+    Invoker setName = LambdaMethodInvoker.forMethod(Bean.class.getDeclaredMethod("setName", String.class));
+    assertThatThrownBy(() -> setName.invoke(new Bean(), new Object[] { "" }))
+        .isInstanceOf(InvocationTargetException.class).cause().isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldFallBackToReflectionForInaccessibleMethods() throws Exception {
+    Invoker getSize = LambdaMethodInvoker.forMethod(ArrayList.class.getMethod("size"));
+    assertThat(getSize.getClass()).isEqualTo(MethodInvoker.class);
+    assertThat(getSize.invoke(new ArrayList<>(), null)).isEqualTo(0);
+  }
+
+  @Test
+  void shouldGenerateTheLambdaOnFirstInvocation() throws Exception {
+    LambdaMethodInvoker getName = (LambdaMethodInvoker) LambdaMethodInvoker
+        .forMethod(Bean.class.getDeclaredMethod("getName"));
+    Field function = LambdaMethodInvoker.class.getDeclaredField("function");
+    function.setAccessible(true);
+    assertThat(function.get(getName)).isNull();
+    Bean bean = new Bean();
+    bean.setName("John");
+    assertThat(getName.invoke(bean, null)).isEqualTo("John");
+    assertThat(function.get(getName)).isInstanceOf(Function.class);
+  }
+
+  @Test
+  void shouldBeUsedByReflector() {
+    Reflector reflector = new Reflector(Bean.class);
+    assertThat(reflector.getSetInvoker("name")).isInstanceOf(LambdaMethodInvoker.class);
+    assertThat(reflector.getGetInvoker("name")).isInstanceOf(LambdaMethodInvoker.class);
+  }
+
+  static class Bean {
+    private int id;
+    private String name;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    private Bean setName(String name) {
+      if ("".equals(name)) {
+        throw new IllegalStateException("empty name");
+      }
+      this.name = name;
+      return this;
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.wrapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.ibatis.executor.result.CompactMap;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.junit.jupiter.api.Test;
+
+class CompactMapWrapperTest {
+
+  @Test
+  void shouldWriteKeysOfTheSchemaByIndex() {
+    CompactMap map = new CompactMap(CompactMap.Schema.of(Arrays.asList("id", "name")));
+    MetaObject metaObj = MetaObject.forObject(map, new DefaultObjectFactory(), new DefaultObjectWrapperFactory(),
+        new DefaultReflectorFactory());
+    assertTrue(metaObj.getObjectWrapper() instanceof CompactMapWrapper);
+
+    metaObj.setValue("name", "Rex");
+    metaObj.setValue("id", 1);
+    metaObj.setValue("name", "Tom");
+    assertEquals(2, map.size());
+    assertEquals(1, metaObj.getValue("id"));
+    assertEquals("Tom", metaObj.getValue("name"));
+    assertArrayEquals(new String[] { "id", "name" }, metaObj.getGetterNames());
+  }
+
+  @Test
+  void shouldSetOtherNamesLikeAnyMap() {
+    CompactMap map = new CompactMap(CompactMap.Schema.of(Collections.singletonList("id")));
+    MetaObject metaObj = MetaObject.forObject(map, new DefaultObjectFactory(), new DefaultObjectWrapperFactory(),
+        new DefaultReflectorFactory());
+
+    metaObj.setValue("age", 3);
+    metaObj.setValue("owner.name", "John");
+    assertEquals(3, map.get("age"));
+    assertEquals(Collections.singletonMap("name", "John"), map.get("owner"));
+    assertEquals("John", metaObj.getValue("owner.name"));
+    assertFalse(map.containsKey("id"));
+    assertFalse(((CompactMapWrapper) metaObj.getObjectWrapper()).setSchemaValue("age", 4));
+    assertEquals(3, ((Map<?, ?>) metaObj.getOriginalObject()).get("age"));
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import ognl.Ognl;
+import ognl.OgnlContext;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledExpressionTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @ParameterizedTest
+  @ValueSource(strings = { "null", "true", "false", "0", "10", "1.5", "'a'", "''", "'ab'", "\"a\"", "id", "username",
+      "password", "username != null and username != ''", "username == 'cbegin' or password == null",
+      "!(username == null)", "not username", "id > 0 && id <= 10", "id gte 1 and id lt 2", "id neq 1", "id eq 1.0",
+      "username.length() > 3", "username.trim().isEmpty()", "username and id", "password or username",
+      "tags.size() > 0", "tags.isEmpty()", "criteria.name", "criteria.size", "criteria.isEmpty", "_parameter.username",
+      "_databaseId == null" })
+  void shouldEvaluateLikeOgnl(String expression) throws Exception {
+    Author author = new Author(1, "cbegin", null, "cbegin@apache.org", "N/A", Section.NEWS);
+    DynamicContext context = new DynamicContext(configuration, author);
+    context.bind("tags", Arrays.asList("a", "b"));
+    context.bind("criteria", Collections.singletonMap("name", "x"));
+    Map<String, Object> root = context.getBindings();
+
+    CompiledExpression compiledExpression = CompiledExpression.compile(expression);
+    assertThat(compiledExpression).isNotNull();
+    Object value = compiledExpression.getValue(root);
+    assertThat(value).isNotSameAs(CompiledExpression.NOT_EVALUATED).isEqualTo(evaluateWithOgnl(expression, root));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "id + 1", "-1", "1L", "010", "0x10", "'\\''", "list[0]", "#this", "id in {1, 2}",
+      "username.equals('x')", "size()", "@java.lang.Math@max(1, 2)", "id = 1", "id &", "(id", "username == " })
+  void shouldNotCompileOtherExpressions(String expression) {
+    assertThat(CompiledExpression.compile(expression)).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "author.bio.length() > 0", "author.missing", "name == 'x'",
+      "author.favouriteSection == 'NEWS'", "tags.size" })
+  void shouldLeaveOtherCasesToOgnl(String expression) {
+    Map<String, Object> root = new HashMap<>();
+    root.put("author", new Author(1, "cbegin", null, "cbegin@apache.org", null, Section.NEWS));
+    root.put("name", "cbegin");
+    root.put("tags", Arrays.asList("a", "b"));
+    assertThat(CompiledExpression.compile(expression).getValue(root)).isSameAs(CompiledExpression.NOT_EVALUATED);
+  }
+
+  private static Object evaluateWithOgnl(String expression, Object root) throws Exception {
+    OgnlContext context = Ognl.createDefaultContext(root, new OgnlMemberAccess(), new OgnlClassResolver(), null);
+    return Ognl.getValue(Ognl.parseExpression(expression), context, root);
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ognl.Ognl;
+import ognl.OgnlContext;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the evaluation of the test expressions of {@code <if>}-heavy statements, compared with evaluating them by
+ * OGNL. Run with {@code mvn test -Dtest=ExpressionBenchmarkTest -DexcludedGroups=}.
+ */
+@Tag("Benchmarks")
+class ExpressionBenchmarkTest {
+
+  private static final int WARM_UP_ITERATIONS = 200_000;
+  private static final int ITERATIONS = 1_000_000;
+
+  private static final List<String> EXPRESSIONS = Arrays.asList("name != null", "name != null and name != ''",
+      "status == 1", "minAge != null and minAge > 0", "tags != null and tags.size() > 0", "criteria.city != null",
+      "!deleted", "sort == 'name' or sort == 'age'");
+
+  private static final String SEARCH_STATEMENT = "<script>select * from users <where>"
+      + "<if test=\"name != null and name != ''\">and name like #{name}</if>"
+      + "<if test=\"status != null\">and status = #{status}</if>"
+      + "<if test=\"minAge != null and minAge > 0\">and age &gt;= #{minAge}</if>"
+      + "<if test=\"criteria.city != null\">and city = #{criteria.city}</if>"
+      + "<if test=\"!deleted\">and deleted = false</if>" + "<if test=\"tags != null and tags.size() > 0\">and tag in"
+      + "<foreach collection=\"tags\" item=\"tag\" open=\"(\" separator=\",\" close=\")\">#{tag}</foreach></if>"
+      + "</where><choose><when test=\"sort == 'name'\">order by name</when>"
+      + "<otherwise>order by id</otherwise></choose></script>";
+
+  @Test
+  void evaluateExpressions() throws Exception {
+    Map<String, Object> root = new DynamicContext(new Configuration(), parameter()).getBindings();
+    for (String expression : EXPRESSIONS) {
+      Object node = Ognl.parseExpression(expression);
+      assertThat(OgnlCache.getValue(expression, root)).isEqualTo(getValueWithOgnl(node, root));
+      double ognl = measure(() -> getValueWithOgnl(node, root));
+      double compiled = measure(() -> OgnlCache.getValue(expression, root));
+      System.out.printf("%-40s ognl: %8.1f ns/op  compiled: %8.1f ns/op%n", expression, ognl, compiled);
+    }
+  }
+
+  @Test
+  void renderSearchStatement() throws Exception {
+    Configuration configuration = new Configuration();
+    SqlSource sqlSource = new XMLLanguageDriver().createSqlSource(configuration, SEARCH_STATEMENT, Map.class);
+    Map<String, Object> parameter = parameter();
+    double time = measure(() -> sqlSource.getBoundSql(parameter));
+    System.out.printf("%-40s %8.1f ns/op%n", "search statement", time);
+  }
+
+  private static Map<String, Object> parameter() {
+    Map<String, Object> criteria = new HashMap<>();
+    criteria.put("city", "Tokyo");
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("name", "a%");
+    parameter.put("status", 1);
+    parameter.put("minAge", 20);
+    parameter.put("tags", Arrays.asList("x", "y"));
+    parameter.put("criteria", criteria);
+    parameter.put("deleted", false);
+    parameter.put("sort", "name");
+    return parameter;
+  }
+
+  private static Object getValueWithOgnl(Object node, Object root) throws Exception {
+    OgnlContext context = Ognl.createDefaultContext(root, new OgnlMemberAccess(), new OgnlClassResolver(), null);
+    return Ognl.getValue(node, context, root);
+  }
+
+  private static double measure(Operation operation) throws Exception {
+    Object blackhole = null;
+    for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+      blackhole = operation.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      blackhole = operation.run();
+    }
+    long elapsed = System.nanoTime() - start;
+    assertThat(blackhole).isNotNull();
+    return (double) elapsed / ITERATIONS;
+  }
+
+  @FunctionalInterface
+  private interface Operation {
+    Object run() throws Exception;
+  }
+
+}
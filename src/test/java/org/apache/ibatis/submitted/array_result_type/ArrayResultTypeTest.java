@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,12 +15,19 @@
  */
 package org.apache.ibatis.submitted.array_result_type;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Reader;
+import java.util.stream.LongStream;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.exceptions.PersistenceException;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -81,4 +88,62 @@ class ArrayResultTypeTest {
       assertEquals(1, ids[0]);
     }
   }
+
+  @Test
+  void shouldGetLongArrayWithRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertArrayEquals(new long[] { 1L, 2L }, mapper.getUserIdsLong(RowBounds.DEFAULT));
+      assertArrayEquals(new long[] { 2L }, mapper.getUserIdsLong(new RowBounds(1, 10)));
+    }
+  }
+
+  @Test
+  void shouldGetDoubleArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertArrayEquals(new double[] { 0.5, 1.0 }, mapper.getHalfUserIds());
+    }
+  }
+
+  @Test
+  void shouldGrowPrimitiveArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertArrayEquals(LongStream.rangeClosed(1, 40).toArray(), mapper.getSequence());
+    }
+  }
+
+  @Test
+  void shouldNotAddNullToPrimitiveArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      PersistenceException e = assertThrows(PersistenceException.class, mapper::getNulls);
+      assertTrue(e.getCause() instanceof BindingException);
+      assertTrue(e.getMessage().contains("attempted to add null to an array of primitive type (int)"));
+    }
+  }
+
+  @Test
+  void shouldWidenToPrimitiveArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertArrayEquals(new double[] { 1.0, 2.0 }, mapper.getUserIdsDouble());
+    }
+  }
+
+  @Test
+  void shouldNotNarrowToPrimitiveArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      PersistenceException e = assertThrows(PersistenceException.class, mapper::getLongsAsInts);
+      assertTrue(e.getCause() instanceof BindingException);
+      assertTrue(e.getMessage()
+          .contains("attempted to add a value of type java.lang.Long to an array of primitive type (int)"));
+      e = assertThrows(PersistenceException.class, mapper::getDecimalsAsLongs);
+      assertTrue(e.getCause() instanceof BindingException);
+      assertTrue(e.getMessage()
+          .contains("attempted to add a value of type java.math.BigDecimal to an array of primitive type (long)"));
+    }
+  }
 }
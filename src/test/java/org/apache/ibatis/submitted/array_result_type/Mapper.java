@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.apache.ibatis.submitted.array_result_type;
 
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.RowBounds;
 
 public interface Mapper {
 
@@ -29,4 +30,23 @@ public interface Mapper {
 
   @Select("select id from users")
   int[] getUserIdsPrimitive();
+
+  @Select("select id from users order by id")
+  long[] getUserIdsLong(RowBounds rowBounds);
+
+  @Select("select cast(id as double) / 2 from users order by id")
+  double[] getHalfUserIds();
+
+  @Select("select x from unnest(sequence_array(1, 40, 1)) as t(x)")
+  long[] getSequence();
+
+  @Select("select cast(null as int) from users")
+  int[] getNulls();
+
+  int[] getLongsAsInts();
+
+  long[] getDecimalsAsLongs();
+
+  @Select("select id from users order by id")
+  double[] getUserIdsDouble();
 }
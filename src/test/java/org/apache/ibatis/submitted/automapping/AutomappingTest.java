@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -65,6 +65,23 @@ class AutomappingTest {
     }
   }
 
+  @Test
+  void shouldRemapColumnsWhenMapUnderscoreToCamelCaseChanges() {
+    sqlSessionFactory.getConfiguration().setAutoMappingBehavior(AutoMappingBehavior.PARTIAL);
+    try {
+      for (boolean mapUnderscoreToCamelCase : new boolean[] { true, false, true }) {
+        sqlSessionFactory.getConfiguration().setMapUnderscoreToCamelCase(mapUnderscoreToCamelCase);
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+          Mapper mapper = sqlSession.getMapper(Mapper.class);
+          Pet pet = mapper.getPetWithUnderscoredColumns(11);
+          Assertions.assertEquals(mapUnderscoreToCamelCase ? "Ren" : null, pet == null ? null : pet.getPetName());
+        }
+      }
+    } finally {
+      sqlSessionFactory.getConfiguration().setMapUnderscoreToCamelCase(false);
+    }
+  }
+
   @Test
   void shouldNotInheritAutoMappingInherited_InlineNestedResultMap() {
     sqlSessionFactory.getConfiguration().setAutoMappingBehavior(AutoMappingBehavior.NONE);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -23,6 +23,8 @@ public interface Mapper {
 
   User getUserWithPhoneNumber(Integer id);
 
+  Pet getPetWithUnderscoredColumns(Integer id);
+
   User getUserWithPets_Inline(Integer id);
 
   User getUserWithPets_External(Integer id);
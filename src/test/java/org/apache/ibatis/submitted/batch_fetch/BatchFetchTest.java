@@ -0,0 +1,148 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_fetch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchFetchTest {
+
+  private static final AtomicInteger queryCount = new AtomicInteger();
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_fetch/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().addInterceptor(new QueryCountInterceptor());
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_fetch/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void resetQueryCount() {
+    queryCount.set(0);
+  }
+
+  @Test
+  void shouldBatchEagerNestedSelects() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsers();
+      assertUsers(users);
+      // users, one batch of teams and two batches of posts
+      assertThat(queryCount).hasValue(4);
+    }
+  }
+
+  @Test
+  void shouldBatchLazyNestedSelects() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getLazyUsers();
+      assertThat(queryCount).hasValue(1);
+      assertUsers(users);
+      assertThat(queryCount).hasValue(4);
+    }
+  }
+
+  @Test
+  void shouldNotBatchNestedSelectsWhenBatchFetchSizeIsNotSet() {
+    sqlSessionFactory.getConfiguration().setDefaultBatchFetchSize(0);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsersWithSingleTeam();
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2", "User3", "User4");
+      // the nested statement receives the key itself, and repeated keys are served by the local cache
+      assertThat(users.get(0).getTeam().getName()).isEqualTo("Team1");
+      assertThat(users.get(1).getTeam().getName()).isEqualTo("Team2");
+      assertThat(users.get(2).getTeam().getName()).isEqualTo("Team1");
+      assertThat(users.get(3).getTeam()).isNull();
+      assertThat(queryCount).hasValue(3);
+    } finally {
+      sqlSessionFactory.getConfiguration().setDefaultBatchFetchSize(3);
+    }
+  }
+
+  @Test
+  void shouldMatchKeysOfDifferentNumericTypes() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      // the decimal team ids 1.0 and 2.0 are matched to the integer ids of the teams
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsersWithDecimalTeamIds();
+      assertUsers(users);
+      assertThat(queryCount).hasValue(4);
+    }
+  }
+
+  @Test
+  void shouldResolveCircularReferences() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsersWithTeamMembers();
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2", "User3", "User4");
+      Team team1 = users.get(0).getTeam();
+      assertThat(team1.getName()).isEqualTo("Team1");
+      assertThat(team1.getMembers()).extracting(User::getName).containsExactly("User1", "User3");
+      assertThat(team1.getMembers()).extracting(user -> user.getTeam().getName()).containsOnly("Team1");
+      Team team2 = users.get(1).getTeam();
+      assertThat(team2.getName()).isEqualTo("Team2");
+      assertThat(team2.getMembers()).extracting(User::getName).containsExactly("User2");
+      assertThat(team2.getMembers().get(0).getTeam().getName()).isEqualTo("Team2");
+      assertThat(users.get(2).getTeam().getName()).isEqualTo("Team1");
+      assertThat(users.get(3).getTeam()).isNull();
+    }
+  }
+
+  private void assertUsers(List<User> users) {
+    assertThat(users).extracting(User::getName).containsExactly("User1", "User2", "User3", "User4");
+    assertThat(users.get(0).getPosts()).extracting(Post::getSubject).containsExactly("Post1", "Post2");
+    assertThat(users.get(1).getPosts()).extracting(Post::getSubject).containsExactly("Post3");
+    assertThat(users.get(2).getPosts()).extracting(Post::getSubject).containsExactly("Post4");
+    assertThat(users.get(3).getPosts()).isEmpty();
+    assertThat(users.get(0).getTeam().getName()).isEqualTo("Team1");
+    assertThat(users.get(1).getTeam().getName()).isEqualTo("Team2");
+    assertThat(users.get(2).getTeam().getName()).isEqualTo("Team1");
+    assertThat(users.get(3).getTeam()).isNull();
+  }
+
+  @Intercepts(@Signature(type = StatementHandler.class, method = "query", args = { Statement.class,
+      ResultHandler.class }))
+  public static class QueryCountInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      queryCount.incrementAndGet();
+      return invocation.proceed();
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.column_index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColumnIndexTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/column_index/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/column_index/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void resetCounters() {
+    CountingStringTypeHandler.columnIndexReads.set(0);
+    CountingStringTypeHandler.columnNameReads.set(0);
+  }
+
+  @AfterEach
+  void resetSettings() {
+    sqlSessionFactory.getConfiguration().setUseColumnIndex(true);
+  }
+
+  @Test
+  void shouldReadPrefixedNestedColumnsByIndex() {
+    List<Blog> blogs = getBlogs();
+    assertBlogs(blogs);
+    assertThat(CountingStringTypeHandler.columnIndexReads).hasValue(6);
+    assertThat(CountingStringTypeHandler.columnNameReads).hasValue(0);
+  }
+
+  @Test
+  void shouldReadColumnsByLabelWhenDisabled() {
+    sqlSessionFactory.getConfiguration().setUseColumnIndex(false);
+    List<Blog> blogs = getBlogs();
+    assertBlogs(blogs);
+    assertThat(CountingStringTypeHandler.columnIndexReads).hasValue(0);
+    assertThat(CountingStringTypeHandler.columnNameReads).hasValue(6);
+  }
+
+  private List<Blog> getBlogs() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(Mapper.class).getBlogs();
+    }
+  }
+
+  private void assertBlogs(List<Blog> blogs) {
+    assertThat(blogs).extracting(Blog::getTitle).containsExactly("Blog1", "Blog2", "Blog3");
+    assertThat(blogs).extracting(blog -> blog.getAuthor().getId()).containsExactly(1, 2, 1);
+    assertThat(blogs).extracting(blog -> blog.getAuthor().getName()).containsExactly("Author1", "Author2", "Author1");
+  }
+
+}
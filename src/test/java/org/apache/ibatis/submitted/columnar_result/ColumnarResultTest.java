@@ -0,0 +1,172 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.columnar_result;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.resultset.ColumnVector.DoubleVector;
+import org.apache.ibatis.executor.resultset.ColumnVector.IntVector;
+import org.apache.ibatis.executor.resultset.ColumnVector.LongVector;
+import org.apache.ibatis.executor.resultset.ColumnVector.ObjectVector;
+import org.apache.ibatis.executor.resultset.ColumnVector.StringVector;
+import org.apache.ibatis.executor.resultset.ColumnarResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ColumnarResultTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/columnar_result/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/columnar_result/CreateDB.sql");
+  }
+
+  @Test
+  void shouldReadTypedColumns() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      ColumnarResult sales = sqlSession.getMapper(Mapper.class).getSales();
+      assertThat(sales.getRowCount()).isEqualTo(4);
+      assertThat(sales.getColumnCount()).isEqualTo(5);
+
+      LongVector id = (LongVector) sales.getColumn("ID");
+      assertThat(id.getLong(3)).isEqualTo(4L);
+
+      StringVector region = (StringVector) sales.getColumn("region");
+      assertThat(region.getDictionary()).containsExactly("north", "south");
+      assertThat(region.getCode(2)).isEqualTo(0);
+      assertThat(region.getString(1)).isEqualTo("south");
+      assertThat(region.isNull(3)).isTrue();
+      assertThat(region.getString(3)).isNull();
+
+      IntVector quantity = (IntVector) sales.getColumn("quantity");
+      assertThat(quantity.getInt(0)).isEqualTo(3);
+      assertThat(quantity.isNull(2)).isTrue();
+      assertThat(quantity.get(2)).isNull();
+
+      DoubleVector price = (DoubleVector) sales.getColumn(3);
+      assertThat(price.getDouble(1)).isEqualTo(2.25);
+      assertThat(price.isNull(2)).isTrue();
+
+      ObjectVector amount = (ObjectVector) sales.getColumn("amount");
+      assertThat(amount.getJavaType()).isEqualTo(BigDecimal.class);
+      assertThat(amount.get(0)).isEqualTo(new BigDecimal("4.50"));
+      assertThat(sales.getValue(2, 4)).isNull();
+
+      assertThatThrownBy(() -> id.getLong(4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+  }
+
+  @Test
+  void shouldApplyRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<ColumnarResult> results = sqlSession
+          .selectList("org.apache.ibatis.submitted.columnar_result.Mapper.getSales", null, new RowBounds(1, 2));
+      assertThat(results).hasSize(1);
+      ColumnarResult sales = results.get(0);
+      assertThat(sales.getRowCount()).isEqualTo(2);
+      assertThat(sales.getValue(0, 0)).isEqualTo(2L);
+      assertThat(sales.getValue(1, 0)).isEqualTo(3L);
+    }
+  }
+
+  @Test
+  void shouldReturnEmptyResult() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      ColumnarResult sales = sqlSession.getMapper(Mapper.class).getNoSales();
+      assertThat(sales.getRowCount()).isZero();
+      assertThat(sales.getColumn("id").size()).isZero();
+    }
+  }
+
+  @Test
+  void shouldSelectColumnarResultByResultType() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      ColumnarResult sales = sqlSession.getMapper(Mapper.class).getSalesXml();
+      assertThat(sales.getRowCount()).isEqualTo(4);
+      assertThat(sales.getColumns()).extracting(c -> c.getName().toLowerCase()).containsExactly("id", "region",
+          "quantity", "price", "amount");
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  void shouldKeepValuesOfCustomTypeHandlersAsObjects() throws Exception {
+    SqlSessionFactory labelSqlSessionFactory;
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/columnar_result/mybatis-config.xml")) {
+      labelSqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    // reads the BIGINT ids as strings
+    labelSqlSessionFactory.getConfiguration().getTypeHandlerRegistry().register((Class) Long.class, JdbcType.BIGINT,
+        new LabelTypeHandler());
+    try (SqlSession sqlSession = labelSqlSessionFactory.openSession()) {
+      ColumnarResult sales = sqlSession.getMapper(Mapper.class).getSales();
+      ObjectVector id = (ObjectVector) sales.getColumn("id");
+      assertThat(id.getJavaType()).isEqualTo(Object.class);
+      assertThat(id.get(0)).isEqualTo("sale-1");
+      assertThat(id.get(3)).isEqualTo("sale-4");
+      assertThat(sales.getColumn("quantity")).isInstanceOf(IntVector.class);
+    }
+  }
+
+  public static class LabelTypeHandler extends BaseTypeHandler<String> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
+        throws SQLException {
+      ps.setString(i, parameter);
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+      return "sale-" + rs.getLong(columnName);
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+      return "sale-" + rs.getLong(columnIndex);
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+      return "sale-" + cs.getLong(columnIndex);
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compact_map_results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.result.CompactMap;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompactMapResultsTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/compact_map_results/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/compact_map_results/CreateDB.sql");
+  }
+
+  @AfterEach
+  void resetSettings() {
+    sqlSessionFactory.getConfiguration().setCompactMapResultsEnabled(true);
+    sqlSessionFactory.getConfiguration().setCallSettersOnNulls(false);
+  }
+
+  @Test
+  void shouldShareTheKeysOfTheRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Map<String, Object>> pets = sqlSession.getMapper(Mapper.class).selectPets();
+      assertThat(pets).hasSize(3).allMatch(CompactMap.class::isInstance);
+      assertThat(((CompactMap) pets.get(0)).getSchema()).isSameAs(((CompactMap) pets.get(2)).getSchema());
+
+      Map<String, Object> expected = new HashMap<>();
+      expected.put("ID", 1);
+      expected.put("NAME", "Rex");
+      expected.put("KIND", "dog");
+      assertThat(pets.get(0)).isEqualTo(expected).containsExactly(entry("ID", 1), entry("NAME", "Rex"),
+          entry("KIND", "dog"));
+      assertThat(pets.get(1)).hasSize(2).doesNotContainKey("KIND");
+    }
+  }
+
+  @Test
+  void shouldPutNullValuesWhenCallingSettersOnNulls() {
+    sqlSessionFactory.getConfiguration().setCallSettersOnNulls(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Map<String, Object> pet = sqlSession.getMapper(Mapper.class).selectPets().get(1);
+      assertThat(pet).hasSize(3).containsEntry("KIND", null);
+    }
+  }
+
+  @Test
+  void shouldKeepOtherMapTypesAndTheDefaultWhenDisabled() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.selectPetsAsHashMaps().get(0)).isExactlyInstanceOf(HashMap.class);
+      sqlSessionFactory.getConfiguration().setCompactMapResultsEnabled(false);
+      assertThat(mapper.selectPets().get(0)).isExactlyInstanceOf(HashMap.class);
+    }
+  }
+
+  @Test
+  void shouldCreateNestedCompactMaps() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Map<String, Object>> pets = sqlSession.getMapper(Mapper.class).selectPetsWithOwner();
+      assertThat(pets).hasSize(3);
+      assertThat(pets.get(0)).containsEntry("petId", 1);
+      @SuppressWarnings("unchecked")
+      Map<String, Object> owner = (Map<String, Object>) pets.get(0).get("owner");
+      assertThat(owner).isInstanceOf(CompactMap.class).containsEntry("ID", 1).containsEntry("NAME", "John").hasSize(2);
+      assertThat(pets.get(1).get("owner")).isEqualTo(owner);
+      assertThat(pets.get(2)).doesNotContainKey("owner");
+    }
+  }
+
+  @Test
+  void shouldBeModifiable() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Map<String, Object> pet = sqlSession.getMapper(Mapper.class).selectPets().get(1);
+      pet.put("KIND", "cat");
+      pet.put("age", 3);
+      pet.remove("ID");
+      assertThat(pet).containsExactly(entry("NAME", "Tom"), entry("KIND", "cat"), entry("age", 3));
+    }
+  }
+
+}
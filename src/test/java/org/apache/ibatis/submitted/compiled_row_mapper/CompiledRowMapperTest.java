@@ -0,0 +1,102 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compiled_row_mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompiledRowMapperTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/compiled_row_mapper/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/compiled_row_mapper/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void resetCounters() {
+    CountingStringTypeHandler.columnIndexReads.set(0);
+    CountingStringTypeHandler.columnNameReads.set(0);
+  }
+
+  @AfterEach
+  void resetSettings() {
+    sqlSessionFactory.getConfiguration().setCompiledRowMappersEnabled(true);
+    sqlSessionFactory.getConfiguration().setCallSettersOnNulls(false);
+    sqlSessionFactory.getConfiguration().setReturnInstanceForEmptyRow(false);
+  }
+
+  @Test
+  void shouldReadColumnsByIndex() {
+    List<User> users = select(Mapper::getUsers);
+    assertThat(users).extracting(User::getId).containsExactly(1, 2, 3);
+    assertThat(users).extracting(User::getName).containsExactly("User1", "User2", null);
+    assertThat(users).extracting(User::getUserAge).containsExactly(30, -1, -1);
+    assertThat(users).extracting(User::getActive).containsExactly(true, null, null);
+    assertThat(CountingStringTypeHandler.columnIndexReads).hasValue(3);
+    assertThat(CountingStringTypeHandler.columnNameReads).hasValue(0);
+  }
+
+  @Test
+  void shouldMapLikeInterpretedMapping() {
+    List<User> compiled = select(Mapper::getUsersByType);
+    sqlSessionFactory.getConfiguration().setCompiledRowMappersEnabled(false);
+    List<User> interpreted = select(Mapper::getUsersByType);
+    assertThat(compiled).usingRecursiveFieldByFieldElementComparator().isEqualTo(interpreted);
+
+    sqlSessionFactory.getConfiguration().setCallSettersOnNulls(true);
+    interpreted = select(Mapper::getUsersByType);
+    sqlSessionFactory.getConfiguration().setCompiledRowMappersEnabled(true);
+    compiled = select(Mapper::getUsersByType);
+    assertThat(compiled).usingRecursiveFieldByFieldElementComparator().isEqualTo(interpreted);
+    assertThat(compiled.get(2).getName()).isNull();
+  }
+
+  @Test
+  void shouldReturnNullForEmptyRows() {
+    assertThat(select(Mapper::getEmptyUser)).isNull();
+    sqlSessionFactory.getConfiguration().setReturnInstanceForEmptyRow(true);
+    User user = select(Mapper::getEmptyUser);
+    assertThat(user).isNotNull();
+    assertThat(user.getUserAge()).isEqualTo(-1);
+  }
+
+  private <T> T select(Function<Mapper, T> query) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return query.apply(sqlSession.getMapper(Mapper.class));
+    }
+  }
+
+}
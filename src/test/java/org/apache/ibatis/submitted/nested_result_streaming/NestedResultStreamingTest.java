@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.nested_result_streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.result.DefaultMapResultHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class NestedResultStreamingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/nested_result_streaming/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/nested_result_streaming/CreateDB.sql");
+  }
+
+  @AfterEach
+  void resetSettings() {
+    sqlSessionFactory.getConfiguration().setNestedResultStreamingEnabled(true);
+  }
+
+  @Test
+  void shouldFetchCompleteBlogsFromCursor() throws Exception {
+    List<Integer> postCounts = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession();
+        Cursor<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogs()) {
+      for (Blog blog : blogs) {
+        postCounts.add(blog.getPosts().size());
+      }
+    }
+    assertThat(postCounts).containsExactly(2, 1, 3);
+  }
+
+  @Test
+  void shouldFetchPartialBlogsFromCursorWithoutStreaming() throws Exception {
+    sqlSessionFactory.getConfiguration().setNestedResultStreamingEnabled(false);
+    List<Integer> postCounts = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession();
+        Cursor<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogs()) {
+      for (Blog blog : blogs) {
+        postCounts.add(blog.getPosts().size());
+      }
+    }
+    assertThat(postCounts).containsExactly(1, 1, 1);
+  }
+
+  @Test
+  void shouldPassCompleteBlogsToResultHandler() {
+    List<Blog> blogs = new ArrayList<>();
+    List<Integer> postCounts = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).getBlogs(context -> {
+        blogs.add(context.getResultObject());
+        postCounts.add(context.getResultObject().getPosts().size());
+      });
+    }
+    assertThat(blogs).extracting(Blog::getTitle).containsExactly("Blog1", "Blog2", "Blog3");
+    assertThat(postCounts).containsExactly(2, 1, 3);
+    assertThat(blogs.get(2).getPosts()).extracting(Post::getSubject).containsExactly("Post4", "Post5", "Post6");
+  }
+
+  @Test
+  void shouldRejectResultHandlerWithoutStreaming() {
+    sqlSessionFactory.getConfiguration().setNestedResultStreamingEnabled(false);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.getBlogs(context -> {
+      })).isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("cannot be safely used with a custom ResultHandler");
+    }
+  }
+
+  @Test
+  void shouldNotStreamToMapKeyResults() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      // the rows are not sorted by blog, which is fine for results that are not streamed
+      Map<Integer, Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogsByPost();
+      assertThat(blogs).hasSize(3);
+      assertThat(blogs.get(1).getPosts()).extracting(Post::getSubject).containsExactlyInAnyOrder("Post1", "Post2");
+      assertThat(blogs.get(3).getPosts()).extracting(Post::getSubject).containsExactlyInAnyOrder("Post4", "Post5",
+          "Post6");
+    }
+  }
+
+  @Test
+  void shouldNotStreamToBuiltInResultHandlers() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      DefaultMapResultHandler<Integer, Blog> resultHandler = new DefaultMapResultHandler<>("id",
+          configuration.getObjectFactory(), configuration.getObjectWrapperFactory(),
+          configuration.getReflectorFactory());
+      assertThatThrownBy(() -> sqlSession.select(Mapper.class.getName() + ".getBlogsByPost", resultHandler))
+          .isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("cannot be safely used with a custom ResultHandler");
+    }
+  }
+
+}
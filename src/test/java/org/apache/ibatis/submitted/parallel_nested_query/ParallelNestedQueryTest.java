@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_nested_query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ParallelNestedQueryTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/parallel_nested_query/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/parallel_nested_query/CreateDB.sql");
+  }
+
+  @Test
+  void shouldLoadNestedQueriesInParallel() {
+    assertThat(sqlSessionFactory.getConfiguration().getNestedQueryParallelism()).isEqualTo(4);
+    assertThat(sqlSessionFactory.getConfiguration().getNestedQueryExecutorService()).isNotNull();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertUsers(sqlSession.getMapper(Mapper.class).getUsers());
+    }
+  }
+
+  @Test
+  void shouldRunEachDistinctNestedQueryOnceOnTheExecutorService() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    ExecutorService original = configuration.getNestedQueryExecutorService();
+    AtomicInteger executedTasks = new AtomicInteger();
+    ThreadPoolExecutor executorService = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>()) {
+      @Override
+      protected void beforeExecute(Thread t, Runnable r) {
+        executedTasks.incrementAndGet();
+      }
+    };
+    configuration.setNestedQueryExecutorService(executorService);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertUsers(sqlSession.getMapper(Mapper.class).getUsers());
+      // 2 distinct teams and 4 users with posts
+      assertThat(executedTasks).hasValue(6);
+    } finally {
+      configuration.setNestedQueryExecutorService(original);
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  void shouldLoadNestedQueriesSequentiallyWhenNoExecutorService() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    ExecutorService original = configuration.getNestedQueryExecutorService();
+    configuration.setNestedQueryParallelism(1);
+    configuration.setNestedQueryExecutorService(null);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(configuration.getNestedQueryExecutorService()).isNull();
+      assertUsers(sqlSession.getMapper(Mapper.class).getUsers());
+    } finally {
+      configuration.setNestedQueryParallelism(4);
+      configuration.setNestedQueryExecutorService(original);
+    }
+  }
+
+  @Test
+  void shouldResetTheErrorContextOfWorkerThreads() throws Exception {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    ExecutorService original = configuration.getNestedQueryExecutorService();
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    configuration.setNestedQueryExecutorService(executorService);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertUsers(sqlSession.getMapper(Mapper.class).getUsers());
+      assertThat(executorService.submit(() -> ErrorContext.instance().toString()).get()).isEmpty();
+    } finally {
+      configuration.setNestedQueryExecutorService(original);
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  void shouldShutdownTheDefaultExecutorServiceOnly() {
+    Configuration configuration = new Configuration();
+    configuration.setNestedQueryParallelism(2);
+    ExecutorService defaultExecutorService = configuration.getNestedQueryExecutorService();
+    configuration.shutdownNestedQueryExecutorService();
+    assertThat(defaultExecutorService.isShutdown()).isTrue();
+    assertThat(configuration.getNestedQueryExecutorService()).isNotNull().isNotSameAs(defaultExecutorService);
+
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    configuration.setNestedQueryExecutorService(executorService);
+    configuration.shutdownNestedQueryExecutorService();
+    assertThat(executorService.isShutdown()).isFalse();
+    assertThat(configuration.getNestedQueryExecutorService()).isSameAs(executorService);
+    executorService.shutdown();
+  }
+
+  private void assertUsers(List<User> users) {
+    assertThat(users).extracting(User::getName).containsExactly("User1", "User2", "User3", "User4");
+    assertThat(users.get(0).getTeam().getName()).isEqualTo("Team1");
+    assertThat(users.get(1).getTeam().getName()).isEqualTo("Team2");
+    assertThat(users.get(2).getTeam().getName()).isEqualTo("Team1");
+    assertThat(users.get(3).getTeam()).isNull();
+    assertThat(users.get(0).getPosts()).extracting(Post::getSubject).containsExactly("Post1", "Post2");
+    assertThat(users.get(1).getPosts()).extracting(Post::getSubject).containsExactly("Post3");
+    assertThat(users.get(2).getPosts()).extracting(Post::getSubject).containsExactly("Post4");
+    assertThat(users.get(3).getPosts()).isEmpty();
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_result_mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelResultMappingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  private final AtomicInteger executedTasks = new AtomicInteger();
+  private ExecutorService original;
+  private ThreadPoolExecutor executorService;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/parallel_result_mapping/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/parallel_result_mapping/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void setUpExecutorService() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    original = configuration.getResultMappingExecutorService();
+    executorService = new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+      @Override
+      protected void beforeExecute(Thread t, Runnable r) {
+        executedTasks.incrementAndGet();
+      }
+    };
+    configuration.setResultMappingExecutorService(executorService);
+  }
+
+  @AfterEach
+  void tearDownExecutorService() {
+    sqlSessionFactory.getConfiguration().setCompiledRowMappersEnabled(true);
+    sqlSessionFactory.getConfiguration().setResultMappingExecutorService(original);
+    executorService.shutdown();
+  }
+
+  @Test
+  void shouldMapRowsInParallelKeepingTheirOrder() {
+    assertThat(original).isNotNull();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = sqlSession.getMapper(Mapper.class).getItems(1000);
+      assertItems(items, 1, 1000);
+      // 4 batches of at most 256 rows
+      assertThat(executedTasks).hasValue(4);
+    }
+  }
+
+  @Test
+  void shouldCallResultHandlerInOrderUntilStopped() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = new ArrayList<>();
+      sqlSession.getMapper(Mapper.class).getItems(1000, context -> {
+        items.add(context.getResultObject());
+        if (context.getResultCount() == 300) {
+          context.stop();
+        }
+      });
+      assertItems(items, 1, 300);
+    }
+  }
+
+  @Test
+  void shouldHonorRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = sqlSession.selectList("org.apache.ibatis.submitted.parallel_result_mapping.Mapper.getItems",
+          1000, new RowBounds(10, 500));
+      assertItems(items, 11, 500);
+    }
+  }
+
+  @Test
+  void shouldMapASingleBatchOnTheCallingThread() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertItems(sqlSession.getMapper(Mapper.class).getItems(100), 1, 100);
+      assertThat(executedTasks).hasValue(0);
+    }
+  }
+
+  @Test
+  void shouldMapRowsSequentiallyWithDiscriminator() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = sqlSession.getMapper(Mapper.class).getItemsWithDiscriminator();
+      assertThat(items).hasSize(1000);
+      assertThat(items.get(999).getId()).isEqualTo(1000);
+      assertThat(executedTasks).hasValue(0);
+    }
+  }
+
+  @Test
+  void shouldMapRowsSequentiallyWithoutCompiledRowMappers() {
+    sqlSessionFactory.getConfiguration().setCompiledRowMappersEnabled(false);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertItems(sqlSession.getMapper(Mapper.class).getItems(1000), 1, 1000);
+      assertThat(executedTasks).hasValue(0);
+    }
+  }
+
+  @Test
+  void shouldShutdownTheDefaultExecutorServiceOnly() {
+    Configuration configuration = new Configuration();
+    configuration.setResultMappingParallelism(2);
+    ExecutorService defaultExecutorService = configuration.getResultMappingExecutorService();
+    configuration.shutdownResultMappingExecutorService();
+    assertThat(defaultExecutorService.isShutdown()).isTrue();
+    assertThat(configuration.getResultMappingExecutorService()).isNotNull().isNotSameAs(defaultExecutorService);
+    configuration.shutdownResultMappingExecutorService();
+
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    configuration.setResultMappingExecutorService(executorService);
+    configuration.shutdownResultMappingExecutorService();
+    assertThat(executorService.isShutdown()).isFalse();
+    assertThat(configuration.getResultMappingExecutorService()).isSameAs(executorService);
+    executorService.shutdown();
+  }
+
+  private void assertItems(List<Item> items, int firstId, int count) {
+    assertThat(items).hasSize(count);
+    for (int i = 0; i < count; i++) {
+      Item item = items.get(i);
+      int id = firstId + i;
+      assertThat(item.getId()).isEqualTo(id);
+      assertThat(item.getLabel()).isEqualTo("Item" + id);
+      if (id % 10 == 0) {
+        assertThat(item.getPrice()).isNull();
+      } else {
+        assertThat(item.getPrice()).isEqualByComparingTo(new BigDecimal(id).divide(new BigDecimal(4)));
+      }
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -25,6 +25,9 @@ public interface RecordTypeMapper {
   @Select("select id, val, url from prop where id = #{id}")
   Property selectPropertyAutomapping(int id);
 
+  @Select("select url, val as \"VALUE\", id from prop where id = #{id}")
+  Property selectPropertyByArgNames(int id);
+
   @Results(id = "propertyRM")
   @Arg(column = "id", javaType = int.class)
   @Arg(column = "val", javaType = String.class)
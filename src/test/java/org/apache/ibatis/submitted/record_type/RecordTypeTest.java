@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -62,6 +62,24 @@ class RecordTypeTest {
     }
   }
 
+  @Test
+  void testSelectRecordAutomappingByArgNames() {
+    sqlSessionFactory.getConfiguration().setArgNameBasedConstructorAutoMapping(true);
+    try {
+      for (int i = 0; i < 2; i++) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+          RecordTypeMapper mapper = sqlSession.getMapper(RecordTypeMapper.class);
+          Property prop = mapper.selectPropertyByArgNames(1);
+          assertEquals(1, prop.id());
+          assertEquals("Val1!", prop.value());
+          assertEquals("https://www.google.com", prop.URL());
+        }
+      }
+    } finally {
+      sqlSessionFactory.getConfiguration().setArgNameBasedConstructorAutoMapping(false);
+    }
+  }
+
   @Test
   void testInsertRecord() {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -0,0 +1,138 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.reuse_statement_cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReuseStatementCacheTest {
+
+  private static final List<Statement> preparedStatements = new ArrayList<>();
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/reuse_statement_cache/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().addInterceptor(new PrepareInterceptor());
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/reuse_statement_cache/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void clearPreparedStatements() {
+    preparedStatements.clear();
+  }
+
+  @AfterEach
+  void resetCacheSize() {
+    sqlSessionFactory.getConfiguration().setReuseStatementCacheSize(2);
+  }
+
+  @Test
+  void shouldKeepStatementsAcrossCommits() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("User1");
+      sqlSession.commit(true);
+      mapper.updateName(2, "User2");
+      sqlSession.rollback(true);
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+      sqlSession.commit(true);
+      assertThat(preparedStatements).hasSize(2);
+      assertThat(preparedStatements.get(0).isClosed()).isFalse();
+    }
+    assertThat(preparedStatements).allMatch(this::isClosed);
+  }
+
+  @Test
+  void shouldCloseLeastRecentlyUsedStatementsOnCommit() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getName(1);
+      mapper.count();
+      mapper.maxId();
+      mapper.count();
+      // statements beyond the cache size are kept until the transaction ends
+      assertThat(preparedStatements).hasSize(3).noneMatch(this::isClosed);
+      sqlSession.commit(true);
+      assertThat(isClosed(preparedStatements.get(0))).isTrue();
+      assertThat(isClosed(preparedStatements.get(1))).isFalse();
+      assertThat(isClosed(preparedStatements.get(2))).isFalse();
+      mapper.getName(1);
+      mapper.count();
+      mapper.maxId();
+      assertThat(preparedStatements).hasSize(4);
+    }
+  }
+
+  @Test
+  void shouldCloseStatementsOnCommitWhenCacheIsDisabled() {
+    sqlSessionFactory.getConfiguration().setReuseStatementCacheSize(0);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getName(1);
+      mapper.getName(2);
+      assertThat(preparedStatements).hasSize(1);
+      sqlSession.commit(true);
+      assertThat(preparedStatements).allMatch(this::isClosed);
+      mapper.getName(1);
+      assertThat(preparedStatements).hasSize(2);
+    }
+  }
+
+  private boolean isClosed(Statement statement) {
+    try {
+      return statement.isClosed();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+  public static class PrepareInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      Statement statement = (Statement) invocation.proceed();
+      preparedStatements.add(statement);
+      return statement;
+    }
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.statement_execution_listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.metrics.LatencyHistogram;
+import org.apache.ibatis.executor.metrics.StatementExecution;
+import org.apache.ibatis.executor.metrics.StatementExecution.Phase;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementExecutionListenerTest {
+
+  private static final List<StatementExecution> executions = new CopyOnWriteArrayList<>();
+
+  private static volatile boolean failListener;
+
+  private static volatile boolean modifyingListener;
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/statement_execution_listener/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/statement_execution_listener/CreateDB.sql");
+    sqlSessionFactory.getConfiguration().addStatementExecutionListener(execution -> {
+      if (failListener) {
+        throw new IllegalStateException("listener failure");
+      }
+      if (modifyingListener) {
+        execution.setRows(42);
+      }
+    });
+    sqlSessionFactory.getConfiguration().addStatementExecutionListener(executions::add);
+  }
+
+  @BeforeEach
+  void clearExecutions() {
+    failListener = false;
+    modifyingListener = false;
+    executions.clear();
+    sqlSessionFactory.getConfiguration().getStatementLatencyHistograms().clear();
+  }
+
+  @Test
+  void shouldReportQueryPhases() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).getNames()).containsExactly("User1", "User2");
+    }
+    assertThat(executions).hasSize(1);
+    StatementExecution execution = executions.get(0);
+    assertThat(execution.getStatementId()).endsWith("Mapper.getNames");
+    assertThat(execution.getRows()).isEqualTo(2);
+    assertThat(execution.isCacheHit()).isFalse();
+    assertThat(execution.getFailure()).isNull();
+    assertThat(execution.getPhaseTime(Phase.PREPARE)).isPositive();
+    assertThat(execution.getPhaseTime(Phase.PARAMETERIZE)).isPositive();
+    assertThat(execution.getPhaseTime(Phase.EXECUTE)).isPositive();
+    assertThat(execution.getPhaseTime(Phase.MAP)).isPositive();
+    assertThat(execution.getTotalTime())
+        .isGreaterThanOrEqualTo(execution.getPhaseTime(Phase.PREPARE) + execution.getPhaseTime(Phase.PARAMETERIZE)
+            + execution.getPhaseTime(Phase.EXECUTE) + execution.getPhaseTime(Phase.MAP));
+  }
+
+  @Test
+  void shouldReportCacheHits() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getName(1);
+      mapper.getName(1);
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).getName(1);
+    }
+    assertThat(executions).extracting(StatementExecution::isCacheHit).containsExactly(false, true, true);
+    assertThat(executions).extracting(StatementExecution::getRows).containsExactly(1, 1, 1);
+    assertThat(executions.get(1).getPhaseTime(Phase.EXECUTE)).isZero();
+  }
+
+  @Test
+  void shouldReportUpdatesAndFailures() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.updateName(1, "User1")).isEqualTo(1);
+      assertThatThrownBy(mapper::getMissing).isInstanceOf(PersistenceException.class);
+    }
+    assertThat(executions).hasSize(2);
+    assertThat(executions.get(0).getRows()).isEqualTo(1);
+    assertThat(executions.get(0).getPhaseTime(Phase.EXECUTE)).isPositive();
+    assertThat(executions.get(1).getFailure()).isNotNull();
+    assertThat(executions.get(1).getRows()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldRecordLatencyHistograms() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 10; i++) {
+        mapper.updateName(2, "User2");
+      }
+    }
+    LatencyHistogram histogram = sqlSessionFactory.getConfiguration().getStatementLatencyHistograms()
+        .getHistogram(Mapper.class.getName() + ".updateName");
+    assertThat(histogram.getCount()).isEqualTo(10);
+    assertThat(histogram.getMaxTime()).isPositive();
+    assertThat(histogram.getPercentile(50)).isPositive().isLessThanOrEqualTo(histogram.getMaxTime());
+    assertThat(histogram.getTotalTime())
+        .isEqualTo(executions.stream().mapToLong(StatementExecution::getTotalTime).sum());
+  }
+
+  @Test
+  void shouldIgnoreListenerFailures() {
+    failListener = true;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getNames()).containsExactly("User1", "User2");
+      assertThat(mapper.updateName(1, "User1")).isEqualTo(1);
+      assertThatThrownBy(mapper::getMissing).isInstanceOf(PersistenceException.class)
+          .hasCauseInstanceOf(SQLException.class);
+    }
+    // the listeners registered after the failing one are still notified
+    assertThat(executions).hasSize(3);
+  }
+
+  @Test
+  void shouldNotLetListenersModifyEndedExecutions() {
+    modifyingListener = true;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).getNames()).containsExactly("User1", "User2");
+    }
+    assertThat(executions).hasSize(1);
+    StatementExecution execution = executions.get(0);
+    assertThat(execution.getRows()).isEqualTo(2);
+    assertThatThrownBy(() -> execution.setFailure(new SQLException())).isInstanceOf(ExecutorException.class)
+        .hasMessageContaining("has already ended");
+    assertThatThrownBy(execution::end).isInstanceOf(ExecutorException.class);
+    assertThat(execution.getFailure()).isNull();
+  }
+
+}
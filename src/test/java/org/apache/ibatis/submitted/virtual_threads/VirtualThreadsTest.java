@@ -0,0 +1,121 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.virtual_threads;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Runs a large number of concurrent sessions on virtual threads and verifies that none of them pinned its carrier
+ * thread. The executor is obtained reflectively because the tests are compiled against an older release.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsTest {
+
+  private static final int SESSIONS = 20_000;
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/virtual_threads/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/virtual_threads/CreateDB.sql");
+  }
+
+  @Test
+  void shouldRunManySessionsWithoutPinningCarrierThreads() throws Exception {
+    Path jfrFile = Files.createTempFile("mybatis-virtual-threads", ".jfr");
+    AtomicInteger found = new AtomicInteger();
+    try (Recording recording = new Recording()) {
+      recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+      recording.start();
+
+      ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+      try {
+        List<Future<?>> futures = new ArrayList<>(SESSIONS);
+        for (int i = 0; i < SESSIONS; i++) {
+          int id = i % 3 + 1;
+          futures.add(executor.submit(() -> {
+            try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+              User user = sqlSession.getMapper(Mapper.class).getUser(id);
+              if (("User" + id).equals(user.getName())) {
+                found.incrementAndGet();
+              }
+            } finally {
+              ErrorContext.instance().reset();
+            }
+          }));
+        }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      } finally {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+      }
+
+      recording.stop();
+      recording.dump(jfrFile);
+    }
+
+    List<RecordedEvent> pinned = new ArrayList<>();
+    try {
+      for (RecordedEvent event : RecordingFile.readAllEvents(jfrFile)) {
+        if ("jdk.VirtualThreadPinned".equals(event.getEventType().getName())) {
+          pinned.add(event);
+        }
+      }
+    } finally {
+      Files.deleteIfExists(jfrFile);
+    }
+
+    assertEquals(SESSIONS, found.get());
+    assertTrue(pinned.isEmpty(), () -> "Carrier threads were pinned: " + pinned);
+  }
+
+}
@@ -0,0 +1,31 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+
+drop table sales if exists;
+
+create table sales (
+  id bigint,
+  region varchar(20),
+  quantity int,
+  price double,
+  amount decimal(10, 2)
+);
+
+insert into sales (id, region, quantity, price, amount) values (1, 'north', 3, 1.5, 4.50);
+insert into sales (id, region, quantity, price, amount) values (2, 'south', 1, 2.25, 2.25);
+insert into sales (id, region, quantity, price, amount) values (3, 'north', null, null, null);
+insert into sales (id, region, quantity, price, amount) values (4, null, 2, 0.5, 1.00);
@@ -0,0 +1,37 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+
+drop table pets if exists;
+drop table owners if exists;
+
+create table owners (
+  id int,
+  name varchar(20)
+);
+
+create table pets (
+  id int,
+  name varchar(20),
+  kind varchar(20),
+  owner_id int
+);
+
+insert into owners (id, name) values (1, 'John');
+
+insert into pets (id, name, kind, owner_id) values (1, 'Rex', 'dog', 1);
+insert into pets (id, name, kind, owner_id) values (2, 'Tom', null, 1);
+insert into pets (id, name, kind, owner_id) values (3, 'Nemo', 'fish', null);